@@ -0,0 +1,69 @@
+package com.mwronski.hateoas.log;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.varia.NullAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.log.Tracer.tracer;
+
+/**
+ * Measures cost of single call of tracer when level of message is disabled and enabled.
+ * Enabled messages are formatted and passed to appender which drops them.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Tracer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracerBenchmark {
+
+    @Param({"INFO", "DEBUG"})
+    private String level;
+
+    private final Object entity = new Object() {
+        @Override
+        public String toString() {
+            return "Message{title=title, content=content, sender=10.0.0.1}";
+        }
+    };
+    private int start;
+
+    @Setup
+    public void setup() {
+        Logger logger = Logger.getLogger(TracerBenchmark.class.getName());
+        logger.setLevel(Level.toLevel(level));
+        logger.setAdditivity(false);
+        logger.removeAllAppenders();
+        logger.addAppender(new NullAppender());
+    }
+
+    @Benchmark
+    public void debugOneArgument() {
+        tracer(this).debug("Creating message: %s", entity);
+    }
+
+    @Benchmark
+    public void debugTwoArguments() {
+        start = (start + 10) & 0xFFFF;
+        tracer(this).debug("Getting messages - start: %d, rowCount: %d", start, 10);
+    }
+
+    @Benchmark
+    public void debugManyArguments() {
+        tracer(this).debug("Arguments: %s, %s, %s, %s", entity, entity, entity, entity);
+    }
+
+    @Benchmark
+    public void info() {
+        tracer(this).info("Find element - id: %s", entity);
+    }
+
+}
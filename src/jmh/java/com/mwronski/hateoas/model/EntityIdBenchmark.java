@@ -0,0 +1,39 @@
+package com.mwronski.hateoas.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generation of time-ordered binary IDs with random UUIDs under contention.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see EntityId
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class EntityIdBenchmark {
+
+    @Benchmark
+    public EntityId generate() {
+        return EntityId.generate();
+    }
+
+    @Benchmark
+    public String generateText() {
+        return EntityId.generate().toString();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+}
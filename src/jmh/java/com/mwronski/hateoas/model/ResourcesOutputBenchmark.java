@@ -0,0 +1,81 @@
+package com.mwronski.hateoas.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares writing page of messages with links as JSON (Jackson) and as XML (JAXB).
+ * JAXB is measured both with marshaller created for each write (as message converter does) and with reused marshaller.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Resources
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourcesOutputBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private final ObjectWriter jsonWriter = new ObjectMapper().writer();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    private JAXBContext xmlContext;
+    private Marshaller xmlMarshaller;
+    private Resources<Message> page;
+
+    @Setup
+    public void setup() throws JAXBException {
+        xmlContext = JAXBContext.newInstance(Resources.class, Message.class);
+        xmlMarshaller = xmlContext.createMarshaller();
+        page = new Resources<Message>();
+        for (int i = 0; i < pageSize; i++) {
+            Message msg = message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender("10.0.0." + (i % 255))
+                    .build();
+            msg.setEntityKey(EntityId.generate());
+            msg.add(new Link("http://localhost/message/" + msg.getEntityId()));
+            page.add(msg);
+        }
+        page.add(new Link("http://localhost/messages/2", Link.REL_SELF));
+        page.add(new Link("http://localhost/messages/1", Link.REL_PREVIOUS));
+        page.add(new Link("http://localhost/messages/3", Link.REL_NEXT));
+    }
+
+    @Benchmark
+    public byte[] jackson() throws IOException {
+        return jsonWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public int jaxbMarshallerPerWrite() throws JAXBException {
+        out.reset();
+        xmlContext.createMarshaller().marshal(page, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int jaxbSharedMarshaller() throws JAXBException {
+        out.reset();
+        xmlMarshaller.marshal(page, out);
+        return out.size();
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mwronski.hateoas.repositories;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.memory.InMemoryMessageRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares finding messages of chosen sender using indexes with scanning all messages.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see MessageIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int SENDERS = 1000;
+
+    @Param({"100000", "1000000"})
+    private int messages;
+
+    private InMemoryMessageRepository repository;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        repository = new InMemoryMessageRepository();
+        for (int i = 0; i < messages; i++) {
+            repository.create(message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender(senderOf(i))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Slice<Message> queryBySender() {
+        return repository.query(Criteria.criteria().withSender(nextSender()), null, PAGE_SIZE, Projection.ALL);
+    }
+
+    @Benchmark
+    public Slice<Message> queryByTitlePrefix() {
+        // prefix without the last digit of the longest titles matches 10 titles
+        int longest = messages / 10 + cursor++ % (messages - messages / 10);
+        return repository.query(Criteria.criteria().withTitlePrefix("title " + longest / 10), null, PAGE_SIZE, Projection.ALL);
+    }
+
+    @Benchmark
+    public List<Message> scanBySender() {
+        String sender = nextSender();
+        List<Message> found = new ArrayList<Message>(PAGE_SIZE);
+        Iterator<Message> all = repository.iterate(0, Projection.ALL);
+        while (all.hasNext() && found.size() < PAGE_SIZE) {
+            Message msg = all.next();
+            if (sender.equals(msg.getSender())) {
+                found.add(msg);
+            }
+        }
+        return found;
+    }
+
+    private String nextSender() {
+        return senderOf(cursor++ % SENDERS);
+    }
+
+    private static String senderOf(int i) {
+        return "10.0." + (i % SENDERS / 256) + "." + (i % 256);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mwronski.hateoas.repositories.file;
+
+import com.mwronski.hateoas.model.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares throughput of creating burst of messages one by one (as single POSTs do)
+ * with creating them in batches in file-backed repository.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see FileMessageRepository#createAll(java.util.List)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchCreateBenchmark {
+
+    private static final int BURST = 1000;
+
+    @Param({"true", "false"})
+    private boolean syncOnCreate;
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private File directory;
+    private FileMessageRepository repository;
+
+    @Setup(Level.Iteration)
+    public void openRepository() throws IOException {
+        directory = Files.createTempDirectory("messages-benchmark").toFile();
+        repository = new FileMessageRepository(directory, FileMessageRepository.DEFAULT_SEGMENT_SIZE, syncOnCreate);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRepository() {
+        repository.close();
+        RecoveryBenchmark.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int createOneByOne() {
+        for (int i = 0; i < BURST; i++) {
+            repository.create(sampleMessage(i));
+        }
+        return repository.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int createInBatches() {
+        for (int i = 0; i < BURST; i += batchSize) {
+            List<Message> batch = new ArrayList<Message>(batchSize);
+            for (int j = i; j < i + batchSize; j++) {
+                batch.add(sampleMessage(j));
+            }
+            repository.createAll(batch);
+        }
+        return repository.size();
+    }
+
+    private static Message sampleMessage(int i) {
+        return message()
+                .withTitle("title " + i)
+                .withContent("content of message " + i)
+                .withSender("10.0.0." + (i % 255))
+                .build();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.mwronski.hateoas.repositories.file;
+
+import com.mwronski.hateoas.model.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Measures throughput of creating messages in file-backed repository by concurrent writers,
+ * with and without forcing each creation to the storage device.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see FileMessageRepository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class FileRepositoryWriteBenchmark {
+
+    @Param({"true", "false"})
+    private boolean syncOnCreate;
+
+    private File directory;
+    private FileMessageRepository repository;
+
+    @Setup(Level.Iteration)
+    public void openRepository() throws IOException {
+        directory = Files.createTempDirectory("messages-benchmark").toFile();
+        repository = new FileMessageRepository(directory, FileMessageRepository.DEFAULT_SEGMENT_SIZE, syncOnCreate);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRepository() {
+        repository.close();
+        RecoveryBenchmark.delete(directory);
+    }
+
+    @Benchmark
+    public Message create() {
+        return repository.create(message()
+                .withTitle("title")
+                .withContent("content of message")
+                .withSender("10.0.0.1")
+                .build());
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.mwronski.hateoas.repositories.file;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Measures cold start of file-backed repository: time of opening repository with chosen number of messages,
+ * which includes recovery of all segments and building of indexes.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see FileMessageRepository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class RecoveryBenchmark {
+
+    @Param({"10000000"})
+    private int messages;
+
+    private File directory;
+    private FileMessageRepository repository;
+
+    @Setup(Level.Trial)
+    public void fillRepository() throws IOException {
+        directory = Files.createTempDirectory("messages-recovery").toFile();
+        FileMessageRepository filled = new FileMessageRepository(directory,
+                FileMessageRepository.DEFAULT_SEGMENT_SIZE, false);
+        for (int i = 0; i < messages; i++) {
+            filled.create(message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender("10.0.0." + (i % 255))
+                    .build());
+        }
+        filled.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRepository() {
+        repository.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRepository() {
+        delete(directory);
+    }
+
+    @Benchmark
+    public int open() {
+        repository = new FileMessageRepository(directory, FileMessageRepository.DEFAULT_SEGMENT_SIZE, false);
+        return repository.size();
+    }
+
+    static void delete(File directory) {
+        File[] files = directory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Projection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Measures throughput of readers of in-memory repository while chosen number of writers
+ * keeps creating new messages in the background.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see InMemoryMessageRepository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentAccessBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int INITIAL_MESSAGES = 10000;
+
+    @Param({"1", "8", "32"})
+    private int writers;
+
+    /**
+     * Work done by writer between two creates (in JMH tokens) so repository doesn't outgrow the heap
+     */
+    @Param({"1000"})
+    private int writerBackoff;
+
+    private volatile InMemoryMessageRepository repository;
+    private volatile boolean writing;
+    private final List<Thread> writerThreads = new ArrayList<Thread>();
+
+    @Setup(Level.Iteration)
+    public void startWriters() {
+        repository = new InMemoryMessageRepository();
+        for (int i = 0; i < INITIAL_MESSAGES; i++) {
+            repository.create(sampleMessage(i));
+        }
+        writing = true;
+        for (int w = 0; w < writers; w++) {
+            Thread writer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    int i = 0;
+                    while (writing) {
+                        repository.create(sampleMessage(i++));
+                        Blackhole.consumeCPU(writerBackoff);
+                    }
+                }
+            }, "writer-" + w);
+            writer.setDaemon(true);
+            writer.start();
+            writerThreads.add(writer);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopWriters() throws InterruptedException {
+        writing = false;
+        for (Thread writer : writerThreads) {
+            writer.join();
+        }
+        writerThreads.clear();
+    }
+
+    @Benchmark
+    public List<Message> readLastPage() {
+        InMemoryMessageRepository current = repository;
+        return current.get(Math.max(0, current.size() - PAGE_SIZE), PAGE_SIZE, Projection.ALL);
+    }
+
+    @Benchmark
+    public int readSize() {
+        return repository.size();
+    }
+
+    private static Message sampleMessage(int i) {
+        return message()
+                .withTitle("title " + i)
+                .withContent("content of message " + i)
+                .withSender("10.0.0." + (i % 255))
+                .build();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.google.common.base.Strings;
+import com.google.gson.Gson;
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Measures overhead of projections: parsing message by plain parser compared with streamed reads
+ * of document for all columns and for title only (content isn't scanned), and the cost of looking up
+ * interned projection for columns of request.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Projection
+ * @see JsonDocument
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final String[] TITLE_COLUMNS = {ResourceEntity.COLUMN_ENTITY_ID, "title"};
+
+    @Param({"100", "10000"})
+    private int contentLength;
+
+    private final Gson plainParser = new Gson();
+    private final Projection titleColumns = Projection.of(Message.class, TITLE_COLUMNS);
+    private String json;
+    private JsonDocument document;
+
+    @Setup
+    public void setup() {
+        Message msg = message()
+                .withTitle("title of message")
+                .withContent(Strings.repeat("c", contentLength))
+                .withSender("10.0.0.1")
+                .build();
+        msg.setEntityKey(EntityId.generate());
+        json = plainParser.toJson(msg);
+        document = new JsonDocument(msg);
+    }
+
+    @Benchmark
+    public Message parsePlain() {
+        return plainParser.fromJson(json, Message.class);
+    }
+
+    @Benchmark
+    public Message readAllColumns() {
+        return document.toMessage(Projection.ALL);
+    }
+
+    @Benchmark
+    public Message readTitleColumns() {
+        return document.toMessage(titleColumns);
+    }
+
+    @Benchmark
+    public Projection lookupProjection() {
+        return Projection.of(Message.class, TITLE_COLUMNS);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares creating and reading messages (with and without projection of columns)
+ * in in-memory repository kept in different storage modes.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see StorageMode
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageModeBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final Projection TITLE_COLUMNS = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title");
+
+    @Param({"JSON", "RECORDS"})
+    private StorageMode storageMode;
+
+    @Param({"10000"})
+    private int messages;
+
+    private InMemoryMessageRepository repository;
+    private String[] ids;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        repository = new InMemoryMessageRepository(storageMode);
+        ids = new String[messages];
+        for (int i = 0; i < messages; i++) {
+            Message msg = message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender("10.0.0." + (i % 255))
+                    .build();
+            ids[i] = repository.create(msg).getEntityId();
+        }
+    }
+
+    @Benchmark
+    public Message create(EmptyRepository empty) {
+        return empty.repository.create(message()
+                .withTitle("title")
+                .withContent("content of message")
+                .withSender("10.0.0.1")
+                .build());
+    }
+
+    @Benchmark
+    public Message find() {
+        return repository.find(nextId(), Projection.ALL);
+    }
+
+    @Benchmark
+    public Message findProjected() {
+        return repository.find(nextId(), TITLE_COLUMNS);
+    }
+
+    @Benchmark
+    public List<Message> getPage() {
+        return repository.get(nextStart(), PAGE_SIZE, Projection.ALL);
+    }
+
+    @Benchmark
+    public List<Message> getPageProjected() {
+        return repository.get(nextStart(), PAGE_SIZE, TITLE_COLUMNS);
+    }
+
+    private String nextId() {
+        cursor = (cursor + 1) % messages;
+        return ids[cursor];
+    }
+
+    private int nextStart() {
+        cursor = (cursor + PAGE_SIZE) % (messages - PAGE_SIZE);
+        return cursor;
+    }
+
+    /**
+     * Repository created for each iteration so created messages don't outgrow the heap
+     */
+    @State(Scope.Benchmark)
+    public static class EmptyRepository {
+
+        private InMemoryMessageRepository repository;
+
+        @Setup(Level.Iteration)
+        public void setup(StorageModeBenchmark benchmark) {
+            repository = new InMemoryMessageRepository(benchmark.storageMode);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.mwronski.hateoas.repositories.offheap;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.memory.InMemoryMessageRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares in-memory and off-heap repositories filled with chosen number of messages.
+ * Each iteration measures pause of full garbage collection and reports heap and direct memory
+ * used after it as secondary results (in megabytes).
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see OffHeapMessageRepository
+ * @see InMemoryMessageRepository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g", "-XX:MaxDirectMemorySize=8g"})
+public class HeapFootprintBenchmark {
+
+    private static final long MEGABYTE = 1 << 20;
+
+    /**
+     * Implementation of repository
+     */
+    public enum Storage {
+        MEMORY, OFF_HEAP
+    }
+
+    @Param({"MEMORY", "OFF_HEAP"})
+    private Storage storage;
+
+    @Param({"1000000", "10000000"})
+    private int messages;
+
+    private Repository<Message> repository;
+
+    /**
+     * Memory used after garbage collection
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long heapMegabytes;
+        public long directMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapMegabytes = 0;
+            directMegabytes = 0;
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void fillRepository() {
+        repository = storage == Storage.MEMORY ? new InMemoryMessageRepository() : new OffHeapMessageRepository();
+        for (int i = 0; i < messages; i++) {
+            repository.create(message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender("10.0.0." + (i % 255))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public int fullGc(Footprint footprint) {
+        System.gc();
+        footprint.heapMegabytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / MEGABYTE;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                footprint.directMegabytes = pool.getMemoryUsed() / MEGABYTE;
+            }
+        }
+        // repository must stay reachable while collecting
+        return repository.size();
+    }
+
+}
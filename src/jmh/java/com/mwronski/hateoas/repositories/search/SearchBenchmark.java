@@ -0,0 +1,67 @@
+package com.mwronski.hateoas.repositories.search;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Slice;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Measures searching the most relevant messages by rare, frequent and mixed words.
+ * Words of messages follow Zipf distribution like words of natural language.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see TextIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int VOCABULARY = 50000;
+    private static final int WORDS_PER_MESSAGE = 12;
+
+    @Param({"100000", "1000000"})
+    private int messages;
+
+    @Param({"w40000", "w100", "w5000 w3", "w1 w2"})
+    private String text;
+
+    private TextIndex index;
+
+    @Setup
+    public void setup() {
+        index = new TextIndex();
+        Random random = new Random(42);
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < messages; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_MESSAGE; w++) {
+                int word = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                content.append('w').append(word < 0 ? -word - 1 : word).append(' ');
+            }
+            Message msg = message().withTitle("message " + i).withContent(content.toString()).build();
+            index.add(TextIndex.termsOf(msg), i);
+        }
+    }
+
+    @Benchmark
+    public Slice<Integer> search() {
+        return index.search(text, null, PAGE_SIZE, messages);
+    }
+
+}
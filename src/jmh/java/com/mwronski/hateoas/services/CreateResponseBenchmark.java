@@ -0,0 +1,65 @@
+package com.mwronski.hateoas.services;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.memory.InMemoryMessageRepository;
+import com.mwronski.hateoas.repositories.memory.StorageMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Compares work done by POST of single message: creating message and reading its ID back from repository
+ * with creating message and taking ID from the instance returned by repository.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.Repository#create(Object)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CreateResponseBenchmark {
+
+    private static final Projection ENTITY_ID = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID);
+
+    @Param({"JSON", "RECORDS"})
+    private StorageMode storageMode;
+
+    private InMemoryMessageRepository repository;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        repository = new InMemoryMessageRepository(storageMode);
+    }
+
+    @Benchmark
+    public Message createAndReadBack() {
+        Message msg = repository.create(sampleMessage());
+        return repository.find(msg.getEntityId(), ENTITY_ID);
+    }
+
+    @Benchmark
+    public Message createWithReceipt() {
+        Message msg = repository.create(sampleMessage());
+        Message msgId = new Message();
+        msgId.copyEntityId(msg);
+        return msgId;
+    }
+
+    private static Message sampleMessage() {
+        return message()
+                .withTitle("title")
+                .withContent("content of message")
+                .withSender("10.0.0.1")
+                .build();
+    }
+
+}
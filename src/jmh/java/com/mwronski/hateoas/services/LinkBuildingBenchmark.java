@@ -0,0 +1,83 @@
+package com.mwronski.hateoas.services;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
+/**
+ * Compares building links of single page of messages (self links of elements and paging links)
+ * with ControllerLinkBuilder and with link factory. Each invocation simulates new request.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see LinkFactory
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    private static final String[] INCLUDE_FIELDS = {"title", "sender"};
+
+    @Param({"10"})
+    private int pageSize;
+
+    private final LinkFactory links = new LinkFactory(ReadService.class);
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        ids = new String[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+            ids[i] = "ee5f5bd0-5c38-4a8f-a8c1-" + String.format("%012d", i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/messages/2");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<Link> controllerLinkBuilder() {
+        List<Link> result = new ArrayList<Link>(pageSize + 3);
+        for (String id : ids) {
+            result.add(linkTo(methodOn(ReadService.class).find(id, null)).withSelfRel());
+        }
+        result.add(linkTo(methodOn(ReadService.class).get(1, null, null, INCLUDE_FIELDS)).withRel("prev"));
+        result.add(linkTo(methodOn(ReadService.class).get(2, null, null)).withSelfRel());
+        result.add(linkTo(methodOn(ReadService.class).get(3, null, null, INCLUDE_FIELDS)).withRel("next"));
+        return result;
+    }
+
+    @Benchmark
+    public List<Link> linkFactory() {
+        List<Link> result = new ArrayList<Link>(pageSize + 3);
+        for (String id : ids) {
+            result.add(links.element(id));
+        }
+        result.add(links.page(1, null, INCLUDE_FIELDS, Link.REL_PREVIOUS));
+        result.add(links.page(2, null, new String[0], Link.REL_SELF));
+        result.add(links.page(3, null, INCLUDE_FIELDS, Link.REL_NEXT));
+        return result;
+    }
+
+}
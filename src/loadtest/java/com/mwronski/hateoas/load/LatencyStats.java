@@ -0,0 +1,103 @@
+package com.mwronski.hateoas.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of requests grouped by operation and media type. Latencies are kept in HDR histograms (microseconds).
+ * Instance is used by single client and merged into totals when test is finished.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see LoadTest
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new TreeMap<String, Endpoint>();
+
+    /**
+     * Record latency of request
+     *
+     * @param operation     sent request
+     * @param mediaType     accepted media type
+     * @param latencyMicros time of request
+     * @param failed        true if request failed
+     */
+    void record(Operation operation, String mediaType, long latencyMicros, boolean failed) {
+        Endpoint endpoint = endpoint(operation.label() + " " + mediaType);
+        endpoint.latencies.recordValue(Math.min(latencyMicros, HIGHEST_LATENCY_MICROS));
+        if (failed) {
+            endpoint.errors++;
+        }
+    }
+
+    /**
+     * Add latencies recorded by other client
+     *
+     * @param stats latencies to be added
+     */
+    void add(LatencyStats stats) {
+        for (Map.Entry<String, Endpoint> entry : stats.endpoints.entrySet()) {
+            Endpoint endpoint = endpoint(entry.getKey());
+            endpoint.latencies.add(entry.getValue().latencies);
+            endpoint.errors += entry.getValue().errors;
+        }
+    }
+
+    /**
+     * Print throughput, errors and percentiles of latencies of each endpoint and of all of them
+     *
+     * @param out     where report should be printed
+     * @param seconds duration of measurement
+     */
+    void print(PrintStream out, int seconds) {
+        out.printf("%-60s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Endpoint total = new Endpoint();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            print(out, entry.getKey(), entry.getValue(), seconds);
+            total.latencies.add(entry.getValue().latencies);
+            total.errors += entry.getValue().errors;
+        }
+        print(out, "total", total, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Endpoint endpoint, int seconds) {
+        Histogram latencies = endpoint.latencies;
+        out.printf("%-60s %10d %10.0f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.getTotalCount(), (double) latencies.getTotalCount() / seconds, endpoint.errors,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private Endpoint endpoint(String name) {
+        Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = new Endpoint();
+            endpoints.put(name, endpoint);
+        }
+        return endpoint;
+    }
+
+    /**
+     * Latencies and errors of single endpoint
+     */
+    private static final class Endpoint {
+
+        private final Histogram latencies = new Histogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private long errors;
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.mwronski.hateoas.load;
+
+import com.mwronski.hateoas.RestApplication;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.services.ThreadMode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Load generator driving versioned services of application started with embedded server. <br/>
+ * Clients replay mix of operations: creations of messages (POST /message) and reads of pages (GET /messages/{page})
+ * with and without chosen fields, each request accepts one of chosen media types (vnd of service and representation).
+ * Each client keeps its own connection, waits for the response and think time before sending next request (closed model).
+ * Clients run on virtual threads when Java supports them. <br/>
+ * Application is started for each chosen mode of handling requests: sync (container threads),
+ * async (executor of services) and virtual (virtual thread per request, Java 21 or newer). <br/>
+ * Throughput and percentiles of latencies (HDR histograms) are reported per operation and media type. <br/>
+ * Run: mvn -Ploadtest verify -DskipTests [-Dload.clients=256 -Dload.thinkMillis=5 ...] <br/>
+ * Settings (system properties):
+ * <ul>
+ * <li>load.modes - modes of handling requests (sync,async,virtual), default: sync</li>
+ * <li>load.clients - number of concurrent clients (connections), default: 64</li>
+ * <li>load.thinkMillis - pause of client after each response, default: 0</li>
+ * <li>load.seconds, load.warmupSeconds - duration of measurement and warm-up preceding it, default: 30, 10</li>
+ * <li>load.mix - weights of operations (create, page, pageFields), default: create:1,page:4,pageFields:1</li>
+ * <li>load.mediaTypes - accepted media types chosen randomly, default: v1+json and v2+xml</li>
+ * <li>load.pages - number of pages read by clients (filled before test), default: 10</li>
+ * <li>load.storage - storage of messages (memory, offheap, file), default: memory</li>
+ * <li>load.containerThreads, load.poolSize - container threads and pool of services (async mode), default: 200, 200</li>
+ * <li>load.port - port of embedded server, default: 18080</li>
+ * </ul>
+ * Many connections (thousands) require limit of open files allowing twice as many descriptors.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Operation
+ * @see LatencyStats
+ */
+public final class LoadTest {
+
+    private static final String MODE_SYNC = "sync";
+    private static final String MODE_ASYNC = "async";
+    private static final String MODE_VIRTUAL = "virtual";
+    private static final int PAGE_SIZE = 10;
+
+    private final String[] modes = System.getProperty("load.modes", MODE_SYNC).split(",");
+    private final int clients = Integer.getInteger("load.clients", 64);
+    private final int thinkMillis = Integer.getInteger("load.thinkMillis", 0);
+    private final int seconds = Integer.getInteger("load.seconds", 30);
+    private final int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+    private final Mix mix = new Mix(System.getProperty("load.mix", "create:1,page:4,pageFields:1"));
+    private final String[] mediaTypes = System.getProperty("load.mediaTypes",
+            "application/vnd.messages-v1+json,application/vnd.messages-v2+xml").split(",");
+    private final int pages = Integer.getInteger("load.pages", 10);
+    private final String storage = System.getProperty("load.storage", "memory");
+    private final int containerThreads = Integer.getInteger("load.containerThreads", 200);
+    private final int poolSize = Integer.getInteger("load.poolSize", 200);
+    private final int port = Integer.getInteger("load.port", 18080);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest test = new LoadTest();
+        // idle connections of all clients are kept alive
+        System.setProperty("http.maxConnections", String.valueOf(test.clients));
+        List<LatencyStats> results = new ArrayList<LatencyStats>();
+        for (String mode : test.modes) {
+            results.add(test.run(mode));
+        }
+        for (int i = 0; i < test.modes.length; i++) {
+            System.out.printf("%nmode: %s, clients: %d, think time: %d ms, storage: %s, container threads: %d, pool of services: %d%n",
+                    test.modes[i], test.clients, test.thinkMillis, test.storage, test.containerThreads, test.poolSize);
+            results.get(i).print(System.out, test.seconds);
+        }
+    }
+
+    private LatencyStats run(String mode) throws Exception {
+        checkArgument(MODE_SYNC.equals(mode) || MODE_ASYNC.equals(mode) || MODE_VIRTUAL.equals(mode), "Unknown mode: %s", mode);
+        File directory = Files.createTempDirectory("messages-load").toFile();
+        ConfigurableApplicationContext context = SpringApplication.run(RestApplication.class,
+                "--server.port=" + port,
+                "--server.tomcat.maxThreads=" + containerThreads,
+                "--messages.storage=" + storage,
+                "--messages.storage.directory=" + directory.getAbsolutePath(),
+                "--messages.async.enabled=" + MODE_ASYNC.equals(mode),
+                "--messages.async.poolSize=" + poolSize,
+                "--messages.threads=" + (MODE_VIRTUAL.equals(mode) ? ThreadMode.VIRTUAL : ThreadMode.PLATFORM));
+        try {
+            fillPages(context);
+            return load();
+        } finally {
+            context.close();
+            delete(directory);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fillPages(ConfigurableApplicationContext context) {
+        Repository<Message> repository = context.getBean("messageRepository", Repository.class);
+        List<Message> messages = new ArrayList<Message>();
+        for (int i = 0; i < pages * PAGE_SIZE; i++) {
+            messages.add(message()
+                    .withTitle("title " + i)
+                    .withContent("content of message " + i)
+                    .withSender("10.0.0." + (i % 255))
+                    .build());
+        }
+        repository.createAll(messages);
+    }
+
+    private LatencyStats load() throws InterruptedException {
+        final String baseUri = "http://localhost:" + port;
+        final long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        final long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        final LatencyStats[] clientStats = new LatencyStats[clients];
+        final CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService executor = clientExecutor();
+        for (int i = 0; i < clients; i++) {
+            final LatencyStats stats = new LatencyStats();
+            clientStats[i] = stats;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        sendRequests(baseUri, stats, measureFrom, measureTo);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        LatencyStats total = new LatencyStats();
+        for (LatencyStats stats : clientStats) {
+            total.add(stats);
+        }
+        return total;
+    }
+
+    private ExecutorService clientExecutor() {
+        try {
+            return ThreadMode.newVirtualThreadPerTaskExecutor();
+        } catch (IllegalStateException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+
+    private void sendRequests(String baseUri, LatencyStats stats, long measureFrom, long measureTo) throws InterruptedException {
+        Random random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        while (start < measureTo) {
+            Operation operation = mix.next(random);
+            String mediaType = mediaTypes[random.nextInt(mediaTypes.length)];
+            boolean failed;
+            try {
+                failed = operation.send(baseUri, mediaType, random.nextInt(pages) + 1) >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom) {
+                stats.record(operation, mediaType, TimeUnit.NANOSECONDS.toMicros(end - start), failed);
+            }
+            if (thinkMillis > 0) {
+                Thread.sleep(thinkMillis);
+            }
+            start = System.nanoTime();
+        }
+    }
+
+    private static void delete(File directory) {
+        File[] files = directory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * Operations chosen randomly according to their weights
+     */
+    private static final class Mix {
+
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        /**
+         * Create mix
+         *
+         * @param weights comma separated labels of operations with weights, e.g. create:1,page:4
+         */
+        Mix(String weights) {
+            String[] entries = weights.split(",");
+            operations = new Operation[entries.length];
+            cumulativeWeights = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] entry = entries[i].split(":");
+                checkArgument(entry.length == 2, "Invalid weight of operation: %s", entries[i]);
+                int weight = Integer.parseInt(entry[1].trim());
+                checkArgument(weight > 0, "Weight must be positive: %s", entries[i]);
+                operations[i] = Operation.of(entry[0].trim());
+                total += weight;
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        Operation next(Random random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Weight out of range: " + value);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.mwronski.hateoas.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Requests sent by clients of load test
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see LoadTest
+ */
+enum Operation {
+
+    /**
+     * Create message (POST /message)
+     */
+    CREATE("create") {
+        @Override
+        int send(String baseUri, String mediaType, int page) throws IOException {
+            return Operation.send("POST", baseUri + "/message", mediaType, "title=load&content=message+sent+by+load+test");
+        }
+    },
+
+    /**
+     * Get page of messages with all fields supported by service (GET /messages/{page})
+     */
+    PAGE("page") {
+        @Override
+        int send(String baseUri, String mediaType, int page) throws IOException {
+            return Operation.send("GET", baseUri + "/messages/" + page, mediaType, null);
+        }
+    },
+
+    /**
+     * Get page of messages with title only (GET /messages/{page}?includeFields=title)
+     */
+    PAGE_FIELDS("pageFields") {
+        @Override
+        int send(String baseUri, String mediaType, int page) throws IOException {
+            return Operation.send("GET", baseUri + "/messages/" + page + "?includeFields=title", mediaType, null);
+        }
+    };
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Send request and read whole response
+     *
+     * @param baseUri   URI of application without trailing slash
+     * @param mediaType accepted media type
+     * @param page      number of page to be read
+     * @return HTTP status of response
+     * @throws IOException if request couldn't be sent
+     */
+    abstract int send(String baseUri, String mediaType, int page) throws IOException;
+
+    /**
+     * Get name of operation used in mix of operations
+     *
+     * @return non-nullable label
+     */
+    String label() {
+        return label;
+    }
+
+    /**
+     * Find operation with given label
+     *
+     * @param label name used in mix of operations
+     * @return non-nullable operation
+     * @throws IllegalArgumentException if operation is unknown
+     */
+    static Operation of(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+
+    private static int send(String method, String uri, String mediaType, String form) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(uri).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", mediaType);
+        if (form != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            OutputStream out = connection.getOutputStream();
+            out.write(form.getBytes("UTF-8"));
+            out.close();
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (in != null) {
+            // response is read fully so connection can be reused
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) >= 0) {
+                // skip
+            }
+            in.close();
+        }
+        return status;
+    }
+
+}
@@ -1,16 +1,33 @@
 package com.mwronski.hateoas;
 
+import com.mwronski.hateoas.log.AsyncTracing;
+import com.mwronski.hateoas.log.OverflowPolicy;
+import com.mwronski.hateoas.metrics.MetricsReporter;
 import com.mwronski.hateoas.model.Message;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.file.FileMessageRepository;
 import com.mwronski.hateoas.repositories.memory.InMemoryMessageRepository;
+import com.mwronski.hateoas.repositories.offheap.OffHeapMessageRepository;
+import com.mwronski.hateoas.services.ThreadMode;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
 import org.springframework.boot.context.web.SpringBootServletInitializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.File;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.mwronski.hateoas.log.Tracer.tracer;
 
 /**
@@ -24,6 +41,46 @@ import static com.mwronski.hateoas.log.Tracer.tracer;
 @ComponentScan
 public class RestApplication extends SpringBootServletInitializer {
 
+    private static final String STORAGE_MEMORY = "memory";
+    private static final String STORAGE_FILE = "file";
+    private static final String STORAGE_OFF_HEAP = "offheap";
+
+    @Value("${messages.storage:" + STORAGE_MEMORY + "}")
+    private String storage;
+
+    @Value("${messages.storage.directory:data/messages}")
+    private String storageDirectory;
+
+    @Value("${messages.storage.segmentSize:" + FileMessageRepository.DEFAULT_SEGMENT_SIZE + "}")
+    private int storageSegmentSize;
+
+    @Value("${messages.storage.syncOnCreate:true}")
+    private boolean storageSyncOnCreate;
+
+    @Value("${tracer.async.enabled:false}")
+    private boolean asyncTracingEnabled;
+
+    @Value("${tracer.async.bufferSize:8192}")
+    private int asyncTracingBufferSize;
+
+    @Value("${tracer.async.batchSize:256}")
+    private int asyncTracingBatchSize;
+
+    @Value("${tracer.async.overflowPolicy:DROP}")
+    private OverflowPolicy asyncTracingOverflowPolicy;
+
+    @Value("${tracer.async.sampleRate:10}")
+    private int asyncTracingSampleRate;
+
+    @Value("${messages.threads:PLATFORM}")
+    private ThreadMode threadMode;
+
+    @Value("${metrics.enabled:false}")
+    private boolean metricsEnabled;
+
+    @Value("${metrics.logIntervalSeconds:60}")
+    private long metricsLogIntervalSeconds;
+
     public static void main(String[] args) {
         tracer(RestApplication.class).info("Starting application: %s", RestApplication.class.getName());
         SpringApplication.run(RestApplication.class, args);
@@ -36,7 +93,63 @@ public class RestApplication extends SpringBootServletInitializer {
 
     @Bean(name = "messageRepository")
     public Repository<Message> messageRepository() {
+        if (STORAGE_FILE.equals(storage)) {
+            // file repository is closed by inferred destroy method
+            return new FileMessageRepository(new File(storageDirectory), storageSegmentSize, storageSyncOnCreate);
+        }
+        if (STORAGE_OFF_HEAP.equals(storage)) {
+            return new OffHeapMessageRepository();
+        }
+        checkArgument(STORAGE_MEMORY.equals(storage), "Unknown storage of messages: %s", storage);
         return new InMemoryMessageRepository();
     }
 
+    @Bean(destroyMethod = "close")
+    public AsyncTracing asyncTracing() {
+        AsyncTracing tracing = new AsyncTracing(asyncTracingBufferSize, asyncTracingBatchSize,
+                asyncTracingOverflowPolicy, asyncTracingSampleRate);
+        // log4j writes events holding monitors what would pin virtual threads, so they're written by background thread
+        if (asyncTracingEnabled || threadMode == ThreadMode.VIRTUAL) {
+            tracing.start();
+        }
+        return tracing;
+    }
+
+    @Bean(destroyMethod = "close")
+    public MetricsReporter metricsReporter() {
+        MetricsReporter reporter = new MetricsReporter(metricsLogIntervalSeconds);
+        if (metricsEnabled) {
+            reporter.start();
+        }
+        return reporter;
+    }
+
+    /**
+     * Customizer of embedded container which handles each request by new virtual thread in virtual mode.
+     * Container of application deployed as WAR has to be configured separately.
+     *
+     * @return non-nullable customizer
+     */
+    @Bean
+    public EmbeddedServletContainerCustomizer threadModeCustomizer() {
+        return new EmbeddedServletContainerCustomizer() {
+            @Override
+            public void customize(ConfigurableEmbeddedServletContainer container) {
+                if (threadMode != ThreadMode.VIRTUAL || !(container instanceof TomcatEmbeddedServletContainerFactory)) {
+                    return;
+                }
+                tracer(RestApplication.class).info("Container handles requests on virtual threads");
+                ((TomcatEmbeddedServletContainerFactory) container).addConnectorCustomizers(new TomcatConnectorCustomizer() {
+                    @Override
+                    public void customize(Connector connector) {
+                        ProtocolHandler handler = connector.getProtocolHandler();
+                        if (handler instanceof AbstractProtocol) {
+                            ((AbstractProtocol) handler).setExecutor(ThreadMode.newVirtualThreadPerTaskExecutor());
+                        }
+                    }
+                });
+            }
+        };
+    }
+
 }
@@ -0,0 +1,266 @@
+package com.mwronski.hateoas.log;
+
+import com.mwronski.hateoas.metrics.TimedLock;
+import org.apache.log4j.helpers.LogLog;
+import org.apache.log4j.spi.LoggingEvent;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Asynchronous mode of tracers. <br/>
+ * Events of enabled levels are formatted by logging thread and put into bounded lock-free buffer,
+ * background writer takes them in batches and passes to appenders of loggers, so logging thread doesn't wait for I/O.
+ * Behaviour on full buffer is chosen by overflow policy. <br/>
+ * Closing drains all buffered events before it returns and it's done also by shutdown hook of JVM,
+ * after closing events are written synchronously again. Location information of events isn't available in asynchronous mode.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Tracer
+ * @see OverflowPolicy
+ */
+public final class AsyncTracing implements Closeable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final RingBuffer<LoggingEvent> events;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final AtomicLong overflowedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private final Lock drainLock = new TimedLock("tracer.drain.lock");
+    private volatile boolean running;
+    private Thread writer;
+    private Thread shutdownHook;
+
+    /**
+     * Create asynchronous mode of tracers, mode is used after it's started
+     *
+     * @param bufferSize     maximum number of buffered events; power of two
+     * @param batchSize      maximum number of events written at once
+     * @param overflowPolicy behaviour on full buffer
+     * @param sampleRate     one of how many overflowing events waits for free space when events are sampled
+     */
+    public AsyncTracing(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, int sampleRate) {
+        checkArgument(batchSize > 0, "Batch size must be positive: %s", batchSize);
+        checkArgument(sampleRate > 0, "Sample rate must be positive: %s", sampleRate);
+        this.events = new RingBuffer<LoggingEvent>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = checkNotNull(overflowPolicy);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Start background writer and switch tracers into asynchronous mode
+     */
+    public synchronized void start() {
+        checkState(writer == null, "Asynchronous tracing already started");
+        running = true;
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeEvents();
+            }
+        }, "tracer-writer");
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        }, "tracer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        Tracer.async(this);
+    }
+
+    /**
+     * Switch tracers back into synchronous mode and write all buffered events
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Tracer.async(null);
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeRemainingEvents();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Get number of events dropped because buffer was full
+     *
+     * @return number of events since start
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Get number of events that didn't fit into buffer at first attempt
+     *
+     * @return number of events since start, including dropped ones
+     */
+    public long getOverflowedEvents() {
+        return overflowedEvents.get();
+    }
+
+    /**
+     * Get number of buffered events passed to appenders
+     *
+     * @return number of events since start
+     */
+    public long getWrittenEvents() {
+        return writtenEvents.get();
+    }
+
+    /**
+     * Get number of events waiting for background writer
+     *
+     * @return approximate number of events
+     */
+    public int getBufferedEvents() {
+        return events.size();
+    }
+
+    /**
+     * Pass event to background writer
+     *
+     * @param event formatted event
+     */
+    void publish(LoggingEvent event) {
+        if (!running) {
+            write(event);
+            return;
+        }
+        // state of logging thread must be taken before event leaves it
+        event.getThreadName();
+        event.getNDC();
+        event.getMDCCopy();
+        if (events.offer(event)) {
+            if (!running) {
+                // tracing was closed in the meantime
+                writeRemainingEvents();
+            }
+            return;
+        }
+        long overflowed = overflowedEvents.incrementAndGet();
+        switch (overflowPolicy) {
+            case SAMPLE:
+                if (overflowed % sampleRate == 0) {
+                    awaitFreeSpace(event);
+                } else {
+                    droppedEvents.incrementAndGet();
+                }
+                break;
+            case BLOCK:
+                awaitFreeSpace(event);
+                break;
+            default:
+                droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wait until event can be buffered; event is written synchronously if tracing is closed in the meantime
+     *
+     * @param event formatted event
+     */
+    private void awaitFreeSpace(LoggingEvent event) {
+        while (running) {
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (events.offer(event)) {
+                if (!running) {
+                    writeRemainingEvents();
+                }
+                return;
+            }
+        }
+        write(event);
+    }
+
+    /**
+     * Work of background writer
+     */
+    private void writeEvents() {
+        List<LoggingEvent> batch = new ArrayList<LoggingEvent>(batchSize);
+        while (running) {
+            if (writeBatch(batch) == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Write events left in buffer when background writer is finished
+     */
+    private void writeRemainingEvents() {
+        // lock instead of monitor, so threads waiting for it while appenders do I/O don't pin their carriers
+        drainLock.lock();
+        try {
+            if (writer.isAlive()) {
+                // buffer can be drained only by single thread, writer finishes its work or is stuck in appender
+                return;
+            }
+            List<LoggingEvent> batch = new ArrayList<LoggingEvent>(batchSize);
+            while (writeBatch(batch) > 0) {
+                // next batch
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Write single batch of buffered events
+     *
+     * @param batch empty list used for taken events
+     * @return number of written events
+     */
+    private int writeBatch(List<LoggingEvent> batch) {
+        int count = events.drainTo(batch, batchSize);
+        for (int i = 0; i < count; i++) {
+            write(batch.get(i));
+        }
+        batch.clear();
+        writtenEvents.addAndGet(count);
+        return count;
+    }
+
+    private static void write(LoggingEvent event) {
+        try {
+            event.getLogger().callAppenders(event);
+        } catch (RuntimeException e) {
+            // single broken appender can't stop the writer, failure is reported as internal error of log4j
+            LogLog.error("Couldn't write event: " + event.getRenderedMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.mwronski.hateoas.log;
+
+/**
+ * Behaviour of asynchronous tracing when buffer of events is full
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see AsyncTracing
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Event is dropped, logging thread never waits
+     */
+    DROP,
+
+    /**
+     * Logging thread waits until there is free space for event
+     */
+    BLOCK,
+
+    /**
+     * One of chosen number of overflowing events waits for free space, the others are dropped
+     */
+    SAMPLE
+
+}
@@ -0,0 +1,112 @@
+package com.mwronski.hateoas.log;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded lock-free buffer with many producers and single consumer. <br/>
+ * Each slot keeps sequence telling whether it's free for producer of given position or filled for consumer,
+ * so producers compete only for the tail and never wait for each other.
+ *
+ * @param <E> type of buffered elements
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Create buffer
+     *
+     * @param capacity maximum number of buffered elements; power of two
+     */
+    RingBuffer(int capacity) {
+        checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "Capacity must be power of two: %s", capacity);
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<E>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Put element at the end of buffer. Method can be used by many threads at the same time.
+     *
+     * @param element non-nullable element
+     * @return true if element was buffered, false if buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // slot still keeps element of previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move buffered elements to given collection. Method can be used by single thread at a time.
+     *
+     * @param batch       collection where elements are added in order of buffering
+     * @param maxElements maximum number of moved elements
+     * @return number of moved elements
+     */
+    int drainTo(Collection<? super E> batch, int maxElements) {
+        long position = head;
+        int count = 0;
+        while (count < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Get number of buffered elements
+     *
+     * @return approximate number, exact when buffer is not used concurrently
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Get maximum number of buffered elements
+     *
+     * @return capacity of buffer
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+}
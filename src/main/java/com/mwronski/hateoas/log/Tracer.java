@@ -1,22 +1,34 @@
 package com.mwronski.hateoas.log;
 
 import com.google.common.base.Joiner;
+import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Wrapper for logging library to simplify and speed-up logging activities;
- * Tracer is based on multiton pattern what helps to avoid keeping loggers as attribute of classes.
+ * Tracer is based on multiton pattern what helps to avoid keeping loggers as attribute of classes. <br/>
+ * Tracers are safe to use from many threads. Level is checked before message is formatted
+ * and methods with fixed number of arguments don't allocate anything when level is disabled;
+ * single int or long argument is boxed after the check by dedicated methods,
+ * other primitive arguments are boxed by the caller.
+ * Formatted messages are written synchronously unless asynchronous tracing is started.
  *
  * @author Michal Wronski
  * @date 27-05-2014
+ * @see AsyncTracing
  */
 public final class Tracer {
 
-    private static final Map<String, Tracer> INSTANCES = new HashMap<String, Tracer>();
+    private static final String FQCN = Tracer.class.getName();
+    private static final ConcurrentMap<String, Tracer> INSTANCES = new ConcurrentHashMap<String, Tracer>();
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Joiner JOINER = Joiner.on(',');
+    private static volatile AsyncTracing async;
     private final Logger log;
 
     private Tracer(final Logger log) {
@@ -35,113 +47,636 @@ public final class Tracer {
         Tracer instance = INSTANCES.get(name);
         if (instance == null) {
             // lazy
-            instance = new Tracer(Logger.getLogger(name));
-            INSTANCES.put(name, instance);
+            Tracer created = new Tracer(Logger.getLogger(name));
+            instance = INSTANCES.putIfAbsent(name, created);
+            if (instance == null) {
+                instance = created;
+            }
         }
         return instance;
     }
 
     /**
-     * Log message and representation of given collection
+     * Switch mode of all tracers
+     *
+     * @param tracing asynchronous mode or null for synchronous mode
+     */
+    static void async(final AsyncTracing tracing) {
+        async = tracing;
+    }
+
+    /**
+     * Check whether debug messages are logged
+     *
+     * @return true if debug level is enabled
+     */
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    /**
+     * Log message at DEBUG level
      *
      * @param msg message to be formatted
-     * @param collection that will be placed as single string in message
      */
-    public <T> void debug(final String msg, final Collection<T> collection) {
+    public void debug(final String msg) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, null, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void debug(final String msg, final Object arg1) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void debug(final String msg, final int arg1) {
         if (log.isDebugEnabled()) {
-            log.debug(String.format(msg, toString(collection)));
+            write(Level.DEBUG, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void debug(final String msg, final long arg1) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, null, msg, arg1);
         }
     }
 
     /**
      * Log message and representation of given objects
      *
-     * @param msg message to be formatted
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void debug(final String msg, final Object arg1, final Object arg2) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, null, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     * @param arg3 third argument of formatting
+     */
+    public void debug(final String msg, final Object arg1, final Object arg2, final Object arg3) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, null, msg, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg     message to be formatted
      * @param objects arguments of formatting
      */
     public void debug(final String msg, final Object... objects) {
         if (log.isDebugEnabled()) {
-            log.debug(String.format(msg, objects));
+            write(Level.DEBUG, null, msg, objects);
         }
     }
 
     /**
-     * Log message and representation of given objects
+     * Log message with attached error
      *
      * @param msg message to be formatted
-     * @param t error to be attached
+     * @param t   error to be attached
+     */
+    public void debug(final String msg, final Throwable t) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, t, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 argument of formatting
+     */
+    public void debug(final String msg, final Throwable t, final Object arg1) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, t, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void debug(final String msg, final Throwable t, final Object arg1, final Object arg2) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, t, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg     message to be formatted
+     * @param t       error to be attached
      * @param objects arguments of formatting
      */
-    public void debug(final String msg, final Throwable t, Object... objects) {
+    public void debug(final String msg, final Throwable t, final Object... objects) {
+        if (log.isDebugEnabled()) {
+            write(Level.DEBUG, t, msg, objects);
+        }
+    }
+
+    /**
+     * Log message and representation of given collection
+     *
+     * @param msg        message to be formatted
+     * @param collection that will be placed as single string in message
+     */
+    public <T> void debug(final String msg, final Collection<T> collection) {
         if (log.isDebugEnabled()) {
-            log.debug(String.format(msg, objects), t);
+            write(Level.DEBUG, null, msg, toString(collection));
         }
     }
 
     /**
-     * Log error information
+     * Log message at INFO level
      *
      * @param msg message to be formatted
-     * @param objects that will be placed as single string in message
      */
-    public void error(final String msg, Object... objects) {
-        log.error(String.format(msg, objects));
+    public void info(final String msg) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void info(final String msg, final Object arg1) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void info(final String msg, final int arg1) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void info(final String msg, final long arg1) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void info(final String msg, final Object arg1, final Object arg2) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     * @param arg3 third argument of formatting
+     */
+    public void info(final String msg, final Object arg1, final Object arg2, final Object arg3) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg     message to be formatted
+     * @param objects arguments of formatting
+     */
+    public void info(final String msg, final Object... objects) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, objects);
+        }
     }
 
     /**
-     * Log error information
+     * Log message with attached error
      *
      * @param msg message to be formatted
-     * @param t error to be attached
-     * @param objects that will be placed as single string in message
+     * @param t   error to be attached
+     */
+    public void info(final String msg, final Throwable t) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, t, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 argument of formatting
      */
-    public void error(final String msg, final Throwable t, Object... objects) {
-        log.error(String.format(msg, objects), t);
+    public void info(final String msg, final Throwable t, final Object arg1) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, t, msg, arg1);
+        }
     }
 
-    public void error(final Throwable t) {
-        log.error(t.getMessage(), t);
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void info(final String msg, final Throwable t, final Object arg1, final Object arg2) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, t, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg     message to be formatted
+     * @param t       error to be attached
+     * @param objects arguments of formatting
+     */
+    public void info(final String msg, final Throwable t, final Object... objects) {
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, t, msg, objects);
+        }
     }
 
     /**
      * Log message and representation of given collection
      *
-     * @param msg message to be formatted
+     * @param msg        message to be formatted
      * @param collection that will be placed as single string in message
      */
     public <T> void info(final String msg, final Collection<T> collection) {
-        log.info(String.format(msg, toString(collection)));
+        if (log.isInfoEnabled()) {
+            write(Level.INFO, null, msg, toString(collection));
+        }
+    }
+
+    /**
+     * Log message at WARN level
+     *
+     * @param msg message to be formatted
+     */
+    public void warn(final String msg) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void warn(final String msg, final Object arg1) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void warn(final String msg, final int arg1) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void warn(final String msg, final long arg1) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void warn(final String msg, final Object arg1, final Object arg2) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     * @param arg3 third argument of formatting
+     */
+    public void warn(final String msg, final Object arg1, final Object arg2, final Object arg3) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, arg1, arg2, arg3);
+        }
     }
 
     /**
      * Log message and representation of given objects
      *
+     * @param msg     message to be formatted
+     * @param objects arguments of formatting
+     */
+    public void warn(final String msg, final Object... objects) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, null, msg, objects);
+        }
+    }
+
+    /**
+     * Log message with attached error
+     *
      * @param msg message to be formatted
+     * @param t   error to be attached
+     */
+    public void warn(final String msg, final Throwable t) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, t, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 argument of formatting
+     */
+    public void warn(final String msg, final Throwable t, final Object arg1) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, t, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void warn(final String msg, final Throwable t, final Object arg1, final Object arg2) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, t, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg     message to be formatted
+     * @param t       error to be attached
      * @param objects arguments of formatting
      */
-    public void info(final String msg, final Object... objects) {
-        log.info(String.format(msg, objects));
+    public void warn(final String msg, final Throwable t, final Object... objects) {
+        if (log.isEnabledFor(Level.WARN)) {
+            write(Level.WARN, t, msg, objects);
+        }
     }
 
     /**
-     * Log warning
+     * Log message at ERROR level
      *
      * @param msg message to be formatted
-     * @param objects that will be placed as single string in message
      */
-    public void warn(final String msg, Object... objects) {
-        log.warn(String.format(msg, objects));
+    public void error(final String msg) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, NO_ARGS);
+        }
     }
 
     /**
-     * Log warning
+     * Log message and representation of given object
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void error(final String msg, final Object arg1) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void error(final String msg, final int arg1) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and given number; number is boxed only when level is enabled
+     *
+     * @param msg  message to be formatted
+     * @param arg1 argument of formatting
+     */
+    public void error(final String msg, final long arg1) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     */
+    public void error(final String msg, final Object arg1, final Object arg2) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg  message to be formatted
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
+     * @param arg3 third argument of formatting
+     */
+    public void error(final String msg, final Object arg1, final Object arg2, final Object arg3) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects
+     *
+     * @param msg     message to be formatted
+     * @param objects arguments of formatting
+     */
+    public void error(final String msg, final Object... objects) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, null, msg, objects);
+        }
+    }
+
+    /**
+     * Log message with attached error
      *
      * @param msg message to be formatted
-     * @param t error to be attached
-     * @param objects that will be placed as single string in message
+     * @param t   error to be attached
+     */
+    public void error(final String msg, final Throwable t) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, t, msg, NO_ARGS);
+        }
+    }
+
+    /**
+     * Log message and representation of given object with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 argument of formatting
+     */
+    public void error(final String msg, final Throwable t, final Object arg1) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, t, msg, arg1);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg  message to be formatted
+     * @param t    error to be attached
+     * @param arg1 first argument of formatting
+     * @param arg2 second argument of formatting
      */
-    public void warn(final String msg, final Throwable t, Object... objects) {
-        log.warn(String.format(msg, objects), t);
+    public void error(final String msg, final Throwable t, final Object arg1, final Object arg2) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, t, msg, arg1, arg2);
+        }
+    }
+
+    /**
+     * Log message and representation of given objects with attached error
+     *
+     * @param msg     message to be formatted
+     * @param t       error to be attached
+     * @param objects arguments of formatting
+     */
+    public void error(final String msg, final Throwable t, final Object... objects) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, t, msg, objects);
+        }
+    }
+
+    /**
+     * Log error using its message
+     *
+     * @param t error to be logged
+     */
+    public void error(final Throwable t) {
+        if (log.isEnabledFor(Level.ERROR)) {
+            write(Level.ERROR, t, "%s", t.getMessage());
+        }
+    }
+
+    /**
+     * Format message and pass it to the logger or to asynchronous tracing
+     *
+     * @param level   level of message
+     * @param t       optional error to be attached
+     * @param msg     message to be formatted
+     * @param objects arguments of formatting
+     */
+    private void write(final Level level, final Throwable t, final String msg, final Object... objects) {
+        String message = String.format(msg, objects);
+        AsyncTracing tracing = async;
+        if (tracing == null) {
+            log.log(FQCN, level, message, t);
+        } else {
+            tracing.publish(new LoggingEvent(FQCN, log, level, message, t));
+        }
     }
 
     /**
@@ -152,8 +687,7 @@ public final class Tracer {
      * @return non-null string representation
      */
     private <T> String toString(Collection<T> collection) {
-        String collectionContext = Joiner.on(',').join(collection).toString();
-        return "[" + collectionContext + "]";
+        return "[" + JOINER.join(collection) + "]";
     }
 
 }
@@ -0,0 +1,125 @@
+package com.mwronski.hateoas.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Distribution of values of single measured activity kept in HDR histograms. <br/>
+ * Values are recorded without locks and without allocations by recorder, readers take recorded values in intervals
+ * and add them to the total distribution (since the application started) and to the distribution since the last report.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metrics
+ */
+public final class Metric {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    /**
+     * Unit of recorded values
+     */
+    public enum Unit {
+
+        /**
+         * Time recorded in nanoseconds and reported in microseconds
+         */
+        MICROSECONDS(1000.0),
+
+        /**
+         * Size recorded and reported in bytes
+         */
+        BYTES(1.0);
+
+        private final double divisor;
+
+        Unit(double divisor) {
+            this.divisor = divisor;
+        }
+
+        /**
+         * Convert recorded value into reported one
+         *
+         * @param value recorded value
+         * @return value in unit
+         */
+        double of(double value) {
+            return value / divisor;
+        }
+    }
+
+    private final Unit unit;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram sinceReport = new Histogram(SIGNIFICANT_DIGITS);
+    private final long createdAt = System.nanoTime();
+    private long reportedAt = createdAt;
+    private Histogram interval;
+
+    Metric(Unit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Record value if metrics are enabled
+     *
+     * @param value size in bytes or time in nanoseconds
+     */
+    public void record(long value) {
+        if (Metrics.isEnabled()) {
+            recorder.recordValue(Math.max(value, 0));
+        }
+    }
+
+    /**
+     * Record time elapsed since start of activity
+     *
+     * @param startNanos start time taken from metrics
+     * @see Metrics#startTime()
+     */
+    public void recordTime(long startNanos) {
+        if (startNanos != Metrics.NOT_STARTED) {
+            recorder.recordValue(Math.max(System.nanoTime() - startNanos, 0));
+        }
+    }
+
+    /**
+     * Get unit of recorded values
+     *
+     * @return non-nullable unit
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Get distribution of all values recorded since metric was created
+     *
+     * @return non-nullable snapshot
+     */
+    public synchronized MetricSnapshot total() {
+        takeInterval();
+        return new MetricSnapshot(unit, total, System.nanoTime() - createdAt);
+    }
+
+    /**
+     * Get distribution of values recorded since the last report and start the next report
+     *
+     * @return non-nullable snapshot
+     */
+    public synchronized MetricSnapshot sinceLastReport() {
+        takeInterval();
+        long now = System.nanoTime();
+        MetricSnapshot snapshot = new MetricSnapshot(unit, sinceReport, now - reportedAt);
+        sinceReport.reset();
+        reportedAt = now;
+        return snapshot;
+    }
+
+    private void takeInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        sinceReport.add(interval);
+    }
+
+}
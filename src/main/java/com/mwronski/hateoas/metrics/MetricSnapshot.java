@@ -0,0 +1,85 @@
+package com.mwronski.hateoas.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable summary of distribution of metric: number of values, their rate and percentiles in unit of metric.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metric
+ */
+public final class MetricSnapshot {
+
+    private final Metric.Unit unit;
+    private final long count;
+    private final double rate;
+    private final double mean;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    MetricSnapshot(Metric.Unit unit, Histogram histogram, long elapsedNanos) {
+        this.unit = unit;
+        this.count = histogram.getTotalCount();
+        this.rate = elapsedNanos > 0 ? (double) count * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        this.mean = unit.of(histogram.getMean());
+        this.p50 = unit.of(histogram.getValueAtPercentile(50));
+        this.p90 = unit.of(histogram.getValueAtPercentile(90));
+        this.p99 = unit.of(histogram.getValueAtPercentile(99));
+        this.p999 = unit.of(histogram.getValueAtPercentile(99.9));
+        this.max = unit.of(histogram.getMaxValue());
+    }
+
+    public Metric.Unit getUnit() {
+        return unit;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get throughput of measured activity
+     *
+     * @return number of values per second
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, rate=%.1f/s, mean=%.1f, p50=%.1f, p90=%.1f, p99=%.1f, p99.9=%.1f, max=%.1f %s",
+                count, rate, mean, p50, p90, p99, p999, max, unit);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.mwronski.hateoas.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Registry of metrics based on multiton pattern (as tracers), so metrics can be kept in static constants of measured classes. <br/>
+ * Metrics are disabled until reporter is started. Disabled metrics cost single volatile read:
+ * start time isn't taken and nothing is recorded.
+ * Typical measurement of time:
+ * <pre>
+ * long start = Metrics.startTime();
+ * ...
+ * METRIC.recordTime(start);
+ * </pre>
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metric
+ * @see MetricsReporter
+ */
+public final class Metrics {
+
+    /**
+     * Start time returned when metrics are disabled
+     */
+    public static final long NOT_STARTED = 0L;
+
+    private static final ConcurrentMap<String, Metric> INSTANCES = new ConcurrentHashMap<String, Metric>();
+    private static volatile boolean enabled;
+
+    private Metrics() {
+    }
+
+    /**
+     * Get metric with chosen name, metric is created when it's used for the first time
+     *
+     * @param name unique name of metric
+     * @param unit unit of recorded values
+     * @return non-nullable metric
+     * @throws IllegalArgumentException if metric with the same name and different unit already exists
+     */
+    public static Metric metric(String name, Metric.Unit unit) {
+        Metric instance = INSTANCES.get(name);
+        if (instance == null) {
+            // lazy
+            Metric created = new Metric(unit);
+            instance = INSTANCES.putIfAbsent(name, created);
+            if (instance == null) {
+                instance = created;
+            }
+        }
+        checkArgument(instance.getUnit() == unit, "Metric %s is measured in %s", name, instance.getUnit());
+        return instance;
+    }
+
+    /**
+     * Get all metrics created so far
+     *
+     * @return copy of metrics sorted by their names
+     */
+    public static SortedMap<String, Metric> all() {
+        return new TreeMap<String, Metric>(INSTANCES);
+    }
+
+    /**
+     * Check whether values are recorded
+     *
+     * @return true if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get start of measured activity
+     *
+     * @return current value of nanosecond timer or NOT_STARTED if metrics are disabled
+     */
+    public static long startTime() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Switch recording of all metrics
+     *
+     * @param enable true if values should be recorded
+     */
+    static void enable(boolean enable) {
+        enabled = enable;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.mwronski.hateoas.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Filter measuring requests while metrics are enabled (it only passes requests otherwise). Recorded metrics:
+ * <ul>
+ * <li>request METHOD PATTERN TYPE - time of whole request per endpoint (pattern of handler's mapping) and media type
+ * of response (vendor type with version of service)</li>
+ * <li>response.write TYPE - time since output stream of response is taken until request is completed, so mostly
+ * serialization of body by message converter and writing it</li>
+ * <li>response.size TYPE - number of bytes written to output stream of response</li>
+ * </ul>
+ * Asynchronous requests are measured until they're completed.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metrics
+ */
+@Component
+public class MetricsFilter implements Filter {
+
+    private static final String UNKNOWN = "-";
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        // nothing to initialize
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        long start = Metrics.startTime();
+        if (start == Metrics.NOT_STARTED || !(request instanceof HttpServletRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final HttpServletRequest httpRequest = (HttpServletRequest) request;
+        final MeasuredResponse measuredResponse = new MeasuredResponse((HttpServletResponse) response, start);
+        try {
+            chain.doFilter(request, measuredResponse);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(httpRequest, measuredResponse);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        // completion follows
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        // completion follows
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // listener is added again by filter if needed
+                    }
+                });
+            } else {
+                record(httpRequest, measuredResponse);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to release
+    }
+
+    private static void record(HttpServletRequest request, MeasuredResponse response) {
+        String type = mediaTypeOf(response);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Metrics.metric("request " + request.getMethod() + " " + (pattern == null ? UNKNOWN : pattern) + " " + type,
+                Metric.Unit.MICROSECONDS).recordTime(response.startedAt);
+        if (response.out != null) {
+            Metrics.metric("response.write " + type, Metric.Unit.MICROSECONDS).recordTime(response.writtenAt);
+            Metrics.metric("response.size " + type, Metric.Unit.BYTES).record(response.out.size);
+        }
+    }
+
+    private static String mediaTypeOf(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return UNKNOWN;
+        }
+        int parameters = contentType.indexOf(';');
+        return parameters < 0 ? contentType : contentType.substring(0, parameters);
+    }
+
+    /**
+     * Response counting bytes written to its output stream
+     */
+    private static final class MeasuredResponse extends HttpServletResponseWrapper {
+
+        private final long startedAt;
+        private volatile long writtenAt;
+        private volatile CountingOutputStream out;
+
+        MeasuredResponse(HttpServletResponse response, long startedAt) {
+            super(response);
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                writtenAt = System.nanoTime();
+                out = new CountingOutputStream(super.getOutputStream());
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Output stream counting bytes written to the stream of response
+     */
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+        private volatile long size;
+
+        CountingOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            size += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.mwronski.hateoas.metrics;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+
+/**
+ * Reporter of metrics: enables recording of metrics and periodically logs distributions of values
+ * recorded since the previous report (metrics without values are skipped). <br/>
+ * Closing disables recording again.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metrics
+ */
+public final class MetricsReporter implements Closeable {
+
+    private final long intervalSeconds;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Create reporter, metrics are recorded after it's started
+     *
+     * @param intervalSeconds period of logging in seconds
+     */
+    public MetricsReporter(long intervalSeconds) {
+        checkArgument(intervalSeconds > 0, "Interval must be positive: %s", intervalSeconds);
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /**
+     * Enable metrics and start periodic logging
+     */
+    public synchronized void start() {
+        checkState(scheduler == null, "Reporter already started");
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                report();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Metrics.enable(true);
+    }
+
+    /**
+     * Log distributions of values recorded since the previous report
+     */
+    public void report() {
+        for (Map.Entry<String, Metric> entry : Metrics.all().entrySet()) {
+            MetricSnapshot snapshot = entry.getValue().sinceLastReport();
+            if (snapshot.getCount() > 0) {
+                tracer(this).info("Metric %s: %s", entry.getKey(), snapshot);
+            }
+        }
+    }
+
+    /**
+     * Disable metrics and stop periodic logging
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        Metrics.enable(false);
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+}
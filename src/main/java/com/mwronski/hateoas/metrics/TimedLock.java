@@ -0,0 +1,88 @@
+package com.mwronski.hateoas.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reentrant lock measuring how long threads wait for it (metric NAME.wait) and how long they hold it (metric NAME.hold).
+ * Only the outermost acquisition is measured. Time spent waiting for conditions counts as holding.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metrics
+ */
+public final class TimedLock implements Lock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Metric waits;
+    private final Metric holds;
+    // guarded by lock
+    private long lockedAt = Metrics.NOT_STARTED;
+
+    /**
+     * Create lock
+     *
+     * @param name prefix of names of metrics
+     */
+    public TimedLock(String name) {
+        this.waits = Metrics.metric(name + ".wait", Metric.Unit.MICROSECONDS);
+        this.holds = Metrics.metric(name + ".hold", Metric.Unit.MICROSECONDS);
+    }
+
+    @Override
+    public void lock() {
+        long start = Metrics.startTime();
+        lock.lock();
+        locked(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = Metrics.startTime();
+        lock.lockInterruptibly();
+        locked(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = Metrics.startTime();
+        if (lock.tryLock()) {
+            locked(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long start = Metrics.startTime();
+        if (lock.tryLock(time, unit)) {
+            locked(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        if (lock.getHoldCount() == 1) {
+            holds.recordTime(lockedAt);
+        }
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return lock.newCondition();
+    }
+
+    private void locked(long start) {
+        if (lock.getHoldCount() == 1) {
+            waits.recordTime(start);
+            lockedAt = start == Metrics.NOT_STARTED ? Metrics.NOT_STARTED : System.nanoTime();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.mwronski.hateoas.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import static com.google.common.base.Objects.toStringHelper;
+
+/**
+ * Error of single element of batch that couldn't be created
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see BatchResources
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchError {
+
+    @XmlAttribute
+    private int index;
+    @XmlAttribute
+    private String message;
+
+    public BatchError() {
+        //for serialization
+    }
+
+    /**
+     * Create error
+     *
+     * @param index   position of element in the batch (counted from 0)
+     * @param message reason why element was skipped
+     */
+    public BatchError(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this).add("index", index).add("message", message).toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mwronski.hateoas.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Objects.toStringHelper;
+
+/**
+ * Result of creation of batch of elements: IDs of created elements and errors of elements that were skipped
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchResources extends Resources<ResourceEntity> {
+
+    @XmlElement
+    private final List<BatchError> errors = new ArrayList<BatchError>();
+
+    public void addErrors(List<BatchError> newErrors) {
+        errors.addAll(newErrors);
+    }
+
+    public List<BatchError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this).add("size", getResources().size()).add("errors", errors.size()).toString();
+    }
+}
@@ -0,0 +1,181 @@
+package com.mwronski.hateoas.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact 128-bit identifier of entity kept as two longs. <br/>
+ * Generated IDs are time-ordered in layout of UUID version 7: 48 bits of Unix time in milliseconds,
+ * 12 bits of sequence within the millisecond and 62 random bits. Sequence is taken with single CAS,
+ * so IDs are generated without locks and each next ID is greater than the previous one.
+ * Text form of ID is the canonical form of UUID.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+public final class EntityId implements Comparable<EntityId> {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final int TEXT_LENGTH = 36;
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Time and sequence of the last generated ID
+     */
+    private static final AtomicLong LAST_TICK = new AtomicLong();
+
+    private final long msb;
+    private final long lsb;
+
+    /**
+     * Create ID
+     *
+     * @param msb most significant bits
+     * @param lsb least significant bits
+     */
+    public EntityId(long msb, long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
+    }
+
+    /**
+     * Generate new time-ordered ID
+     *
+     * @return non-nullable ID greater than all IDs generated before
+     */
+    public static EntityId generate() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long last;
+        long tick;
+        do {
+            last = LAST_TICK.get();
+            // within the same millisecond (or when clock goes back) sequence is incremented and overflows into time
+            tick = now > last ? now : last + 1;
+        } while (!LAST_TICK.compareAndSet(last, tick));
+        long timestamp = tick >>> SEQUENCE_BITS;
+        long sequence = tick & ((1 << SEQUENCE_BITS) - 1);
+        long msb = (timestamp << 16) | VERSION | sequence;
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new EntityId(msb, lsb);
+    }
+
+    /**
+     * Parse text form of ID
+     *
+     * @param text optional text
+     * @return ID or null if text isn't valid text form of ID
+     */
+    public static EntityId tryParse(String text) {
+        if (text == null || text.length() != TEXT_LENGTH
+                || text.charAt(8) != '-' || text.charAt(13) != '-' || text.charAt(18) != '-' || text.charAt(23) != '-') {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0, digits = 0; i < TEXT_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            int digit = hexDigit(c);
+            if (digit < 0) {
+                return null;
+            }
+            if (digits++ < 16) {
+                msb = (msb << 4) | digit;
+            } else {
+                lsb = (lsb << 4) | digit;
+            }
+        }
+        return new EntityId(msb, lsb);
+    }
+
+    /**
+     * Get value of hexadecimal digit; only ASCII digits are accepted, so each ID has single text form
+     *
+     * @param c character of text form
+     * @return value of digit or -1 if character isn't hexadecimal digit
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    public long getMostSignificantBits() {
+        return msb;
+    }
+
+    public long getLeastSignificantBits() {
+        return lsb;
+    }
+
+    /**
+     * Get time when ID was generated
+     *
+     * @return Unix time in milliseconds
+     */
+    public long getTimestamp() {
+        return msb >>> 16;
+    }
+
+    @Override
+    public int compareTo(EntityId other) {
+        int result = compareUnsigned(msb, other.msb);
+        return result != 0 ? result : compareUnsigned(lsb, other.lsb);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof EntityId)) {
+            return false;
+        }
+        EntityId other = (EntityId) obj;
+        return msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = msb ^ lsb;
+        return (int) (hash >> 32) ^ (int) hash;
+    }
+
+    @Override
+    public String toString() {
+        char[] text = new char[TEXT_LENGTH];
+        hex(text, 0, msb >>> 32, 8);
+        text[8] = '-';
+        hex(text, 9, msb >>> 16, 4);
+        text[13] = '-';
+        hex(text, 14, msb, 4);
+        text[18] = '-';
+        hex(text, 19, lsb >>> 48, 4);
+        text[23] = '-';
+        hex(text, 24, lsb, 12);
+        return new String(text);
+    }
+
+    private static void hex(char[] text, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            text[i] = DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static int compareUnsigned(long a, long b) {
+        return Long.compare(a + Long.MIN_VALUE, b + Long.MIN_VALUE);
+    }
+
+}
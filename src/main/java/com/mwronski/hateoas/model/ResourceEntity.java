@@ -1,5 +1,6 @@
 package com.mwronski.hateoas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.google.common.base.Objects;
 import org.springframework.hateoas.ResourceSupport;
@@ -12,7 +13,9 @@ import javax.xml.bind.annotation.XmlRootElement;
 import static com.google.common.base.Objects.toStringHelper;
 
 /**
- * Basic identifiable entity
+ * Basic identifiable entity. <br/>
+ * Entity keeps ID in binary form, text form of ID is created only when it's requested (at the edge of API).
+ * IDs that aren't in the text form of entity ID are kept as given.
  *
  * @author Michal Wronski
  * @date 5/30/14.
@@ -24,14 +27,45 @@ public class ResourceEntity extends ResourceSupport {
 
     public static final String COLUMN_ENTITY_ID = "entityId";
 
-    @XmlAttribute
-    private String entityId;
+    private EntityId entityId;
+    private transient String entityIdText;
 
     public final void setEntityId(String entityId) {
-        this.entityId = entityId;
+        this.entityId = EntityId.tryParse(entityId);
+        this.entityIdText = entityId;
     }
 
+    @XmlAttribute
     public final String getEntityId() {
+        if (entityIdText == null && entityId != null) {
+            // text form is cached, it's the same for every thread
+            entityIdText = entityId.toString();
+        }
+        return entityIdText;
+    }
+
+    public final void setEntityKey(EntityId entityKey) {
+        this.entityId = entityKey;
+        this.entityIdText = null;
+    }
+
+    /**
+     * Set the same ID as chosen entity has, without parsing its text form again
+     *
+     * @param entity source of ID
+     */
+    public final void copyEntityId(ResourceEntity entity) {
+        this.entityId = entity.entityId;
+        this.entityIdText = entity.entityIdText;
+    }
+
+    /**
+     * Get ID in binary form
+     *
+     * @return ID or null if entity has no ID or its ID isn't in the text form of entity ID
+     */
+    @JsonIgnore
+    public final EntityId getEntityKey() {
         return entityId;
     }
 
@@ -46,7 +80,7 @@ public class ResourceEntity extends ResourceSupport {
 
     @Override
     public final String toString() {
-        Objects.ToStringHelper toStringHelper = toStringHelper(this).add("entityId", entityId);
+        Objects.ToStringHelper toStringHelper = toStringHelper(this).add("entityId", getEntityId());
         toStringInfo(toStringHelper);
         return toStringHelper.toString();
     }
@@ -63,6 +97,6 @@ public class ResourceEntity extends ResourceSupport {
             return false;
         }
         ResourceEntity other = (ResourceEntity) obj;
-        return Objects.equal(entityId, other.entityId);
+        return Objects.equal(getEntityId(), other.getEntityId());
     }
 }
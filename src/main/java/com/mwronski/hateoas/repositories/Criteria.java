@@ -0,0 +1,110 @@
+package com.mwronski.hateoas.repositories;
+
+import com.google.common.base.Objects;
+
+import static com.google.common.base.Objects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+/**
+ * Criteria of elements queried using indexes of repository. Criteria are immutable,
+ * each condition added to criteria creates new instance. Elements must meet all conditions.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Repository#query(Criteria, String, int, Projection)
+ */
+public final class Criteria {
+
+    private static final Criteria NONE = new Criteria(null, null);
+
+    private final String sender;
+    private final String titlePrefix;
+
+    private Criteria(String sender, String titlePrefix) {
+        this.sender = sender;
+        this.titlePrefix = titlePrefix;
+    }
+
+    /**
+     * Get criteria without any conditions
+     *
+     * @return non-nullable instance
+     */
+    public static Criteria criteria() {
+        return NONE;
+    }
+
+    /**
+     * Add condition on exact sender of element
+     *
+     * @param sender required sender
+     * @return non-nullable new instance
+     */
+    public Criteria withSender(String sender) {
+        checkArgument(!isNullOrEmpty(sender), "Sender must be given");
+        return new Criteria(sender, titlePrefix);
+    }
+
+    /**
+     * Add condition on beginning of title of element
+     *
+     * @param titlePrefix required beginning of title (case sensitive)
+     * @return non-nullable new instance
+     */
+    public Criteria withTitlePrefix(String titlePrefix) {
+        checkArgument(!isNullOrEmpty(titlePrefix), "Title prefix must be given");
+        return new Criteria(sender, titlePrefix);
+    }
+
+    /**
+     * Get required sender
+     *
+     * @return sender or null if sender isn't checked
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Get required beginning of title
+     *
+     * @return prefix or null if title isn't checked
+     */
+    public String getTitlePrefix() {
+        return titlePrefix;
+    }
+
+    /**
+     * Check whether criteria have any conditions
+     *
+     * @return true if no elements would be filtered out
+     */
+    public boolean isEmpty() {
+        return sender == null && titlePrefix == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(sender, titlePrefix);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof Criteria)) {
+            return false;
+        }
+        Criteria other = (Criteria) obj;
+        return Objects.equal(sender, other.sender) && Objects.equal(titlePrefix, other.titlePrefix);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("sender", sender)
+                .add("titlePrefix", titlePrefix)
+                .toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mwronski.hateoas.repositories;
+
+/**
+ * Ascending positions of elements that meet some conditions. Positions are found using indexes
+ * so matching elements are never read while searching.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see MessageIndex
+ */
+interface Matches {
+
+    /**
+     * Matches of no elements
+     */
+    Matches NONE = new Matches() {
+        @Override
+        public int next(int from) {
+            return -1;
+        }
+
+        @Override
+        public int previous(int before) {
+            return -1;
+        }
+    };
+
+    /**
+     * Find the first matching position not lower than given one
+     *
+     * @param from lowest position that can be returned
+     * @return found position, -1 if there's no such position
+     */
+    int next(int from);
+
+    /**
+     * Find the last matching position lower than given one
+     *
+     * @param before position following the returned one
+     * @return found position, -1 if there's no such position
+     */
+    int previous(int before);
+
+}
@@ -0,0 +1,205 @@
+package com.mwronski.hateoas.repositories;
+
+import com.mwronski.hateoas.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+
+/**
+ * Secondary indexes of messages used for querying messages by criteria. <br/>
+ * Positions of messages are kept in postings per sender (hash map) and per title (skip list ordered by titles),
+ * so messages of sender are found in constant time and titles with chosen prefix in logarithmic time.
+ * Prefix of title can expand to limited number of distinct titles (like max expansions of prefix queries in search engines).
+ * Positions meeting all criteria are found by skipping through postings, matching messages are never read while searching. <br/>
+ * Index has single writer (messages are added in order of their positions by the repository). Reads don't need any locks.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Criteria
+ */
+public final class MessageIndex {
+
+    /**
+     * Maximum number of distinct titles matched by single prefix
+     */
+    public static final int MAX_PREFIX_EXPANSIONS = 1024;
+
+    private final ConcurrentMap<String, Postings> bySender = new ConcurrentHashMap<String, Postings>();
+    private final ConcurrentNavigableMap<String, Postings> byTitle = new ConcurrentSkipListMap<String, Postings>();
+
+    /**
+     * Add message to indexes
+     *
+     * @param message  created message
+     * @param position of message greater than positions of all messages added before
+     */
+    public void add(Message message, int position) {
+        add(bySender, message.getSender(), position);
+        add(byTitle, message.getTitle(), position);
+    }
+
+    /**
+     * Find positions of messages meeting given criteria
+     *
+     * @param criteria conditions of messages
+     * @param token    opaque token taken from previously returned slice. If not given first messages are found.
+     * @param rowCount maximum number of positions to be returned
+     * @param size     number of messages that can be taken into account
+     * @return non-nullable slice with ascending positions of found messages
+     * @throws IllegalArgumentException if criteria have no conditions, prefix of title matches too many titles or token is malformed
+     */
+    public Slice<Integer> query(Criteria criteria, String token, int rowCount, int size) {
+        checkArgument(!criteria.isEmpty(), "Criteria must have conditions");
+        checkArgument(rowCount > 0, "Row count must be a positive number");
+        int start = SequenceTokens.decode(token);
+        Matches matches = matchesOf(criteria);
+        List<Integer> positions = new ArrayList<Integer>(Math.min(rowCount, size));
+        int position = start;
+        while (positions.size() < rowCount && (position = matches.next(position)) >= 0 && position < size) {
+            positions.add(position++);
+        }
+        int following = positions.size() < rowCount ? -1 : matches.next(position);
+        String nextToken = following >= 0 && following < size ? SequenceTokens.encode(following) : null;
+        return new Slice<Integer>(positions, previousToken(matches, start, rowCount), nextToken);
+    }
+
+    /**
+     * Get token of matches displayed before chosen position
+     *
+     * @param matches  positions meeting criteria
+     * @param start    position of the first displayed match
+     * @param rowCount number of matches displayed at once
+     * @return token or null if there are no preceding matches
+     */
+    private static String previousToken(Matches matches, int start, int rowCount) {
+        int first = -1;
+        for (int i = 0, position = start; i < rowCount && (position = matches.previous(position)) >= 0; i++) {
+            first = position;
+        }
+        return first >= 0 ? SequenceTokens.encode(first) : null;
+    }
+
+    private Matches matchesOf(Criteria criteria) {
+        List<Matches> conditions = new ArrayList<Matches>(2);
+        if (criteria.getSender() != null) {
+            Postings postings = bySender.get(criteria.getSender());
+            conditions.add(postings == null ? Matches.NONE : postings);
+        }
+        if (criteria.getTitlePrefix() != null) {
+            conditions.add(titleMatches(criteria.getTitlePrefix()));
+        }
+        tracer(this).debug("Querying messages - criteria: %s, conditions: %d", criteria, conditions.size());
+        return conditions.size() == 1 ? conditions.get(0) : new Intersection(conditions.toArray(new Matches[conditions.size()]));
+    }
+
+    private Matches titleMatches(String prefix) {
+        List<Postings> titles = new ArrayList<Postings>();
+        for (Postings postings : byTitle.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            checkArgument(titles.size() < MAX_PREFIX_EXPANSIONS, "Title prefix matches too many titles: %s", prefix);
+            titles.add(postings);
+        }
+        if (titles.isEmpty()) {
+            return Matches.NONE;
+        }
+        return titles.size() == 1 ? titles.get(0) : new Union(titles.toArray(new Matches[titles.size()]));
+    }
+
+    private static void add(ConcurrentMap<String, Postings> index, String value, int position) {
+        if (value == null) {
+            return;
+        }
+        Postings postings = index.get(value);
+        if (postings == null) {
+            postings = new Postings();
+            postings.add(position);
+            index.put(value, postings);
+        } else {
+            postings.add(position);
+        }
+    }
+
+    /**
+     * Positions meeting any of conditions
+     */
+    private static final class Union implements Matches {
+
+        private final Matches[] conditions;
+
+        Union(Matches[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public int next(int from) {
+            int next = -1;
+            for (Matches condition : conditions) {
+                int position = condition.next(from);
+                if (position >= 0 && (next < 0 || position < next)) {
+                    next = position;
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public int previous(int before) {
+            int previous = -1;
+            for (Matches condition : conditions) {
+                previous = Math.max(previous, condition.previous(before));
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Positions meeting all conditions. Conditions skip positions in turns until all of them agree on the same position.
+     */
+    private static final class Intersection implements Matches {
+
+        private final Matches[] conditions;
+
+        Intersection(Matches[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public int next(int from) {
+            int candidate = from;
+            for (int agreed = 0, i = 0; agreed < conditions.length; i = (i + 1) % conditions.length) {
+                int position = conditions[i].next(candidate);
+                if (position < 0) {
+                    return -1;
+                }
+                agreed = position == candidate ? agreed + 1 : 1;
+                candidate = position;
+            }
+            return candidate;
+        }
+
+        @Override
+        public int previous(int before) {
+            // the last position not greater than candidate is looked for
+            int candidate = before - 1;
+            for (int agreed = 0, i = 0; agreed < conditions.length; i = (i + 1) % conditions.length) {
+                if (candidate < 0) {
+                    return -1;
+                }
+                int position = conditions[i].previous(candidate + 1);
+                if (position < 0) {
+                    return -1;
+                }
+                agreed = position == candidate ? agreed + 1 : 1;
+                candidate = position;
+            }
+            return candidate;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mwronski.hateoas.repositories;
+
+import java.util.Arrays;
+
+/**
+ * Positions of elements having the same value of indexed column kept in ascending order. <br/>
+ * Postings have single writer (positions are appended in order of elements by the repository).
+ * Reads don't need any locks: position stored under index lower than published size is always visible to reader.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see MessageIndex
+ */
+final class Postings implements Matches {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private volatile int[] positions = new int[INITIAL_CAPACITY];
+    private volatile int size;
+
+    /**
+     * Append position of next element
+     *
+     * @param position of element greater than all positions appended before
+     */
+    void add(int position) {
+        int index = size;
+        int[] current = positions;
+        if (index == current.length) {
+            current = Arrays.copyOf(current, index * 2);
+            positions = current;
+        }
+        current[index] = position;
+        // publish position to readers
+        size = index + 1;
+    }
+
+    @Override
+    public int next(int from) {
+        // size must be read before positions
+        int count = size;
+        int[] current = positions;
+        int index = search(current, count, from);
+        return index < count ? current[index] : -1;
+    }
+
+    @Override
+    public int previous(int before) {
+        int count = size;
+        int[] current = positions;
+        int index = search(current, count, before);
+        return index > 0 ? current[index - 1] : -1;
+    }
+
+    /**
+     * Get number of published positions
+     *
+     * @return number of elements
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find index of the first position not lower than given one
+     *
+     * @param positions ascending positions
+     * @param count     number of positions to be searched
+     * @param position  searched position
+     * @return index of found position, count if all positions are lower
+     */
+    private static int search(int[] positions, int count, int position) {
+        int index = Arrays.binarySearch(positions, 0, count, position);
+        return index >= 0 ? index : -index - 1;
+    }
+
+}
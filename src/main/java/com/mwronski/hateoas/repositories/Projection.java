@@ -0,0 +1,213 @@
+package com.mwronski.hateoas.repositories;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Columns of elements that should be returned by repository. <br/>
+ * Columns are validated against serialized fields of type of elements, unknown columns are rejected.
+ * Projections are interned: there is single instance per distinct set of columns of type,
+ * so they can be kept in constants, compared by identity and passed down to storage without being rebuilt.
+ * Looking up projection of known columns doesn't allocate anything.
+ * Projection with all fields of type is the same instance as ALL.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Repository
+ */
+public final class Projection {
+
+    private static final int ALL_COLUMNS = -1;
+    private static final int MAX_FIELDS = 30;
+    private static final ConcurrentMap<Class<?>, Schema> SCHEMAS = new ConcurrentHashMap<Class<?>, Schema>();
+
+    /**
+     * All columns of elements
+     */
+    public static final Projection ALL = new Projection(null, ALL_COLUMNS, ImmutableSet.<String>of());
+
+    private final Schema schema;
+    private final int mask;
+    private final Set<String> columns;
+
+    private Projection(Schema schema, int mask, Set<String> columns) {
+        this.schema = schema;
+        this.mask = mask;
+        this.columns = columns;
+    }
+
+    /**
+     * Get projection with chosen columns
+     *
+     * @param type    type of elements
+     * @param columns names of fields of type. Null and empty names are skipped.
+     * @return non-nullable interned instance
+     * @throws IllegalArgumentException if any column isn't a field of type
+     */
+    public static Projection of(Class<?> type, String... columns) {
+        Schema schema = schemaOf(type);
+        int mask = 0;
+        if (columns != null) {
+            for (String column : columns) {
+                if (column != null && !column.isEmpty()) {
+                    mask |= schema.bitOf(column);
+                }
+            }
+        }
+        return schema.projection(mask);
+    }
+
+    /**
+     * Check whether chosen column should be returned
+     *
+     * @param column name of field
+     * @return true if column is included, false otherwise
+     */
+    public boolean includes(String column) {
+        if (schema == null) {
+            return true;
+        }
+        Integer index = schema.indexes.get(column);
+        return index != null && (mask & (1 << index)) != 0;
+    }
+
+    /**
+     * Get projection with columns of this one and given one
+     *
+     * @param other projection of the same type
+     * @return non-nullable interned instance
+     */
+    public Projection union(Projection other) {
+        if (schema == null || other.schema == null) {
+            return ALL;
+        }
+        checkArgument(schema == other.schema, "Projections of different types: %s, %s", this, other);
+        return schema.projection(mask | other.mask);
+    }
+
+    /**
+     * Get projection with columns included by both this one and given one
+     *
+     * @param other projection of the same type
+     * @return non-nullable interned instance
+     */
+    public Projection intersect(Projection other) {
+        if (schema == null) {
+            return other;
+        }
+        if (other.schema == null) {
+            return this;
+        }
+        checkArgument(schema == other.schema, "Projections of different types: %s, %s", this, other);
+        return schema.projection(mask & other.mask);
+    }
+
+    /**
+     * Get names of chosen columns
+     *
+     * @return non-nullable immutable set, empty for ALL
+     */
+    public Set<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        return schema == null ? "ALL" : schema.type.getSimpleName() + columns;
+    }
+
+    private static Schema schemaOf(Class<?> type) {
+        Schema schema = SCHEMAS.get(type);
+        if (schema == null) {
+            // lazy
+            Schema created = new Schema(type);
+            schema = SCHEMAS.putIfAbsent(type, created);
+            if (schema == null) {
+                schema = created;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Serialized fields of type with interned projections of them
+     */
+    private static final class Schema {
+
+        private final Class<?> type;
+        private final ImmutableMap<String, Integer> indexes;
+        private final String[] names;
+        private final int allColumns;
+        private final AtomicReferenceArray<Projection> projections;
+
+        Schema(Class<?> type) {
+            this.type = type;
+            Set<String> fields = fieldsOf(type);
+            checkArgument(fields.size() <= MAX_FIELDS, "Too many fields of %s: %s", type, fields.size());
+            ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+            names = fields.toArray(new String[fields.size()]);
+            for (int i = 0; i < names.length; i++) {
+                builder.put(names[i], i);
+            }
+            indexes = builder.build();
+            allColumns = (1 << names.length) - 1;
+            projections = new AtomicReferenceArray<Projection>(1 << names.length);
+        }
+
+        int bitOf(String column) {
+            Integer index = indexes.get(column);
+            checkArgument(index != null, "Unknown field of %s: %s", type.getSimpleName(), column);
+            return 1 << index;
+        }
+
+        Projection projection(int mask) {
+            if (mask == allColumns) {
+                return ALL;
+            }
+            Projection projection = projections.get(mask);
+            if (projection == null) {
+                projections.compareAndSet(mask, null, new Projection(this, mask, columnsOf(mask)));
+                projection = projections.get(mask);
+            }
+            return projection;
+        }
+
+        private Set<String> columnsOf(int mask) {
+            ImmutableSet.Builder<String> columns = ImmutableSet.builder();
+            for (int i = 0; i < names.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    columns.add(names[i]);
+                }
+            }
+            return columns.build();
+        }
+
+        /**
+         * Get names of all serialized instance fields of given class and its super classes
+         *
+         * @param clazz to be checked
+         * @return non-nullable immutable set
+         */
+        private static Set<String> fieldsOf(Class<?> clazz) {
+            ImmutableSet.Builder<String> fields = ImmutableSet.builder();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        fields.add(field.getName());
+                    }
+                }
+            }
+            return fields.build();
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.mwronski.hateoas.repositories;
+
+import com.mwronski.hateoas.metrics.Metric;
+import com.mwronski.hateoas.metrics.Metrics;
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Binary format of messages kept outside of the heap: in files of the log or in off-heap memory. <br/>
+ * Record consists of length of payload, CRC32 checksum of payload and the payload itself.
+ * Payload keeps binary entity ID (two longs) followed by title, content and sender;
+ * each text field as length (-1 for null) followed by UTF-8 bytes.
+ * Record with zero length never exists, so zeros mark free space after the last record.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+public final class RecordCodec {
+
+    public static final int HEADER_SIZE = 8;
+
+    private static final String COLUMN_TITLE = "title";
+    private static final String COLUMN_CONTENT = "content";
+    private static final String COLUMN_SENDER = "sender";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int NULL_LENGTH = -1;
+    private static final int ENTITY_ID_SIZE = 16;
+    private static final Metric DESERIALIZATION = Metrics.metric("repository.deserialize.record", Metric.Unit.MICROSECONDS);
+
+    /**
+     * Encode message into record
+     *
+     * @param message with filled ID
+     * @return buffer with record ready to be written
+     */
+    public static ByteBuffer encode(Message message) {
+        EntityId entityId = checkNotNull(message.getEntityKey(), "Message without ID: %s", message);
+        byte[] title = bytesOf(message.getTitle());
+        byte[] content = bytesOf(message.getContent());
+        byte[] sender = bytesOf(message.getSender());
+        int length = ENTITY_ID_SIZE + sizeOf(title) + sizeOf(content) + sizeOf(sender);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+        record.putInt(length).putInt(0);
+        record.putLong(entityId.getMostSignificantBits()).putLong(entityId.getLeastSignificantBits());
+        put(record, title);
+        put(record, content);
+        put(record, sender);
+        record.putInt(4, checksum(record.array(), HEADER_SIZE, length));
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Check whether valid record is placed at chosen position
+     *
+     * @param content  buffer with records
+     * @param position of record
+     * @return length of whole record, 0 if there is no record (free space), -1 if record is broken
+     */
+    public static int check(ByteBuffer content, int position) {
+        if (position + HEADER_SIZE > content.capacity()) {
+            return 0;
+        }
+        int length = content.getInt(position);
+        if (length == 0) {
+            return 0;
+        }
+        if (length < 0 || length > content.capacity() - position - HEADER_SIZE) {
+            return -1;
+        }
+        byte[] payload = new byte[length];
+        ByteBuffer view = content.duplicate();
+        view.position(position + HEADER_SIZE);
+        view.get(payload);
+        return checksum(payload, 0, length) == content.getInt(position + 4) ? HEADER_SIZE + length : -1;
+    }
+
+    /**
+     * Decode message from record
+     *
+     * @param content    buffer with records
+     * @param position   of record
+     * @param projection columns that should be decoded
+     * @return non-nullable message
+     */
+    public static Message decode(ByteBuffer content, int position, Projection projection) {
+        long start = Metrics.startTime();
+        content.position(position + HEADER_SIZE);
+        Message message = new Message();
+        EntityId entityId = new EntityId(content.getLong(), content.getLong());
+        if (projection.includes(ResourceEntity.COLUMN_ENTITY_ID)) {
+            message.setEntityKey(entityId);
+        }
+        message.setTitle(read(content, projection.includes(COLUMN_TITLE)));
+        message.setContent(read(content, projection.includes(COLUMN_CONTENT)));
+        message.setSender(read(content, projection.includes(COLUMN_SENDER)));
+        DESERIALIZATION.recordTime(start);
+        return message;
+    }
+
+    /**
+     * Decode only ID of message
+     *
+     * @param content  buffer with records
+     * @param position of record
+     * @return non-nullable ID of message
+     */
+    public static EntityId decodeEntityId(ByteBuffer content, int position) {
+        int offset = position + HEADER_SIZE;
+        return new EntityId(content.getLong(offset), content.getLong(offset + 8));
+    }
+
+    /**
+     * Check whether record keeps message with chosen ID without decoding the ID
+     *
+     * @param content  buffer with records
+     * @param position of record
+     * @param entityId ID of message
+     * @return true if record keeps message with the same ID
+     */
+    public static boolean hasEntityId(ByteBuffer content, int position, EntityId entityId) {
+        int offset = position + HEADER_SIZE;
+        return content.getLong(offset) == entityId.getMostSignificantBits()
+                && content.getLong(offset + 8) == entityId.getLeastSignificantBits();
+    }
+
+    /**
+     * Read next field or skip it
+     *
+     * @param content  positioned at the field
+     * @param included true if field should be read
+     * @return value of field, null if field is null or it's skipped
+     */
+    private static String read(ByteBuffer content, boolean included) {
+        int length = content.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (!included) {
+            content.position(content.position() + length);
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        content.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value == null ? null : value.getBytes(UTF_8);
+    }
+
+    private static int sizeOf(byte[] field) {
+        return 4 + (field == null ? 0 : field.length);
+    }
+
+    private static void put(ByteBuffer record, byte[] field) {
+        if (field == null) {
+            record.putInt(NULL_LENGTH);
+        } else {
+            record.putInt(field.length).put(field);
+        }
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private RecordCodec() {
+        //utility class
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.mwronski.hateoas.repositories;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * Generic repository that provides access to data. <br/>
+ * Reads return only columns chosen by projection (Projection.ALL for all columns). <br/>
  * Note: use standard Repository or CrudRepository from Spring when it grows bigger
  *
  * @param <T> type of element managed by repository
@@ -14,22 +16,77 @@ import java.util.List;
 public interface Repository<T> {
 
     /**
-     * Create new element
+     * Create new element. Returned instance is the receipt of creation: it carries ID of created element,
+     * so callers don't need to read element back from the repository.
      *
      * @param entity element to be created
      * @return the same instance with filled ID of newly created entity
      */
     T create(T entity);
 
+    /**
+     * Create many elements at once. Elements are created in order of the list
+     * paying for single critical section (and single write to the storage) for the whole batch.
+     *
+     * @param entities elements to be created
+     * @return not-nullable list with the same instances with filled IDs of newly created entities
+     */
+    List<T> createAll(List<T> entities);
+
     /**
      * Get elements
      *
-     * @param start index of first elements to be returned
-     * @param rowCount number of elements to be returned
-     * @param columns optional columns that should be returned in results. If not given all will be taken.
+     * @param start      index of first elements to be returned
+     * @param rowCount   number of elements to be returned
+     * @param projection columns that should be returned in results
      * @return not-nullable list with found elements
      */
-    List<T> get(int start, int rowCount, String... columns);
+    List<T> get(int start, int rowCount, Projection projection);
+
+    /**
+     * Get elements following given continuation token. Contrary to positional access
+     * cost of reading doesn't depend on how far from the beginning elements are placed.
+     *
+     * @param token      opaque token taken from previously returned slice. If not given first elements will be returned.
+     * @param rowCount   maximum number of elements to be returned
+     * @param projection columns that should be returned in results
+     * @return not-nullable slice with found elements
+     */
+    Slice<T> scroll(String token, int rowCount, Projection projection);
+
+    /**
+     * Find elements meeting given criteria. Elements are found using indexes maintained on creation,
+     * so cost of searching doesn't depend on number of elements that don't meet criteria.
+     *
+     * @param criteria   conditions that elements must meet
+     * @param token      opaque token taken from previously returned slice. If not given first elements will be returned.
+     * @param rowCount   maximum number of elements to be returned
+     * @param projection columns that should be returned in results
+     * @return not-nullable slice with found elements in order of creation
+     */
+    Slice<T> query(Criteria criteria, String token, int rowCount, Projection projection);
+
+    /**
+     * Find elements containing words of given text. Elements are found using full-text index maintained on creation
+     * and ranked by relevance to the text.
+     *
+     * @param text       searched text
+     * @param token      opaque token taken from previously returned slice. If not given the most relevant elements will be returned.
+     * @param rowCount   maximum number of elements to be returned
+     * @param projection columns that should be returned in results
+     * @return not-nullable slice with found elements from the most relevant one
+     */
+    Slice<T> search(String text, String token, int rowCount, Projection projection);
+
+    /**
+     * Iterate over elements without copying them. Elements are read lazily while iterating
+     * so whole content of repository can be traversed without keeping it in memory.
+     *
+     * @param start      index of first element to be returned
+     * @param projection columns that should be returned in results
+     * @return not-nullable iterator over elements existing at the moment of the call
+     */
+    Iterator<T> iterate(int start, Projection projection);
 
     /**
      * Get count of elements
@@ -42,9 +99,18 @@ public interface Repository<T> {
      * Find element by ID
      *
      * @param id
-     * @param columns optional columns that should be returned in results. If not given all will be taken.
+     * @param projection columns that should be returned in results
      * @return instance of found element, null otherwise
      */
-    T find(String id, String... columns);
+    T find(String id, Projection projection);
+
+    /**
+     * Find many elements by their IDs at once
+     *
+     * @param ids        IDs of elements to be found
+     * @param projection columns that should be returned in results
+     * @return not-nullable list with found elements in order of given IDs. Elements that weren't found are skipped.
+     */
+    List<T> findAll(List<String> ids, Projection projection);
 
 }
@@ -0,0 +1,50 @@
+package com.mwronski.hateoas.repositories;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Continuation tokens for repositories that keep elements under sequence numbers.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Slice
+ */
+public final class SequenceTokens {
+
+    private static final int RADIX = Character.MAX_RADIX;
+
+    /**
+     * Create token pointing at chosen element
+     *
+     * @param sequence number of first element that should be read using token
+     * @return non-nullable token
+     */
+    public static String encode(int sequence) {
+        checkArgument(sequence >= 0, "Sequence must not be negative");
+        return Integer.toString(sequence, RADIX);
+    }
+
+    /**
+     * Get sequence number kept in token
+     *
+     * @param token created by this class. If not given the first element is taken.
+     * @return sequence number of first element that should be read
+     * @throws IllegalArgumentException if token is malformed
+     */
+    public static int decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            int sequence = Integer.parseInt(token, RADIX);
+            checkArgument(sequence >= 0, "Invalid token: %s", token);
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid token: " + token, e);
+        }
+    }
+
+    private SequenceTokens() {
+        //no instances
+    }
+}
@@ -0,0 +1,63 @@
+package com.mwronski.hateoas.repositories;
+
+import java.util.List;
+
+import static com.google.common.base.Objects.toStringHelper;
+
+/**
+ * Part of elements returned by repository with tokens allowing to continue reading
+ * in both directions. Tokens are opaque for clients of repository.
+ *
+ * @param <T> type of elements
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Repository#scroll(String, int, Projection)
+ */
+public final class Slice<T> {
+
+    private final List<T> elements;
+    private final String previousToken;
+    private final String nextToken;
+
+    /**
+     * Create instance
+     *
+     * @param elements      found elements
+     * @param previousToken token of preceding elements, null if there are no such elements
+     * @param nextToken     token of following elements, null if there are no such elements
+     */
+    public Slice(List<T> elements, String previousToken, String nextToken) {
+        this.elements = elements;
+        this.previousToken = previousToken;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getElements() {
+        return elements;
+    }
+
+    public String getPreviousToken() {
+        return previousToken;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasPrevious() {
+        return previousToken != null;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("size", elements.size())
+                .add("previousToken", previousToken)
+                .add("nextToken", nextToken)
+                .toString();
+    }
+}
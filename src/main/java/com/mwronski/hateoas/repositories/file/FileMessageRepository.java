@@ -0,0 +1,445 @@
+package com.mwronski.hateoas.repositories.file;
+
+import com.google.common.collect.UnmodifiableIterator;
+import com.mwronski.hateoas.metrics.TimedLock;
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.MessageIndex;
+import com.mwronski.hateoas.repositories.RecordCodec;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.SequenceTokens;
+import com.mwronski.hateoas.repositories.Slice;
+import com.mwronski.hateoas.repositories.search.TextIndex;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+import static com.mwronski.hateoas.repositories.file.PositionIndex.offsetOf;
+import static com.mwronski.hateoas.repositories.file.PositionIndex.position;
+import static com.mwronski.hateoas.repositories.file.PositionIndex.segmentOf;
+import static java.lang.String.format;
+
+/**
+ * Repository that keeps messages in append-only log of segment files, so messages survive restarts
+ * and aren't limited by size of the heap. Implementation is thread safe. <br/>
+ * Messages are encoded outside of any lock and appended in order of creation. When sync on create is enabled
+ * creation returns after record is forced to the storage device; concurrent creations share single force (group commit).
+ * Positions of records, hashes of IDs and secondary indexes are kept in memory, records are read through memory-mapped segments without locks. <br/>
+ * Opening repository recovers records from segments and truncates torn record left at the tail by a crash.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see RecordCodec
+ */
+public final class FileMessageRepository implements Repository<Message>, Closeable {
+
+    /**
+     * Default size of single segment file
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private final File directory;
+    private final int segmentSize;
+    private final boolean syncOnCreate;
+    private final Lock appendLock = new TimedLock("repository.append.lock");
+    private final Lock syncLock = new TimedLock("repository.sync.lock");
+    private final PositionIndex positions = new PositionIndex();
+    private final IdIndex ids = new IdIndex();
+    private final MessageIndex index = new MessageIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final IdIndex.Ids recordIds = new IdIndex.Ids() {
+        @Override
+        public EntityId idOf(int index) {
+            long position = positions.get(index);
+            return RecordCodec.decodeEntityId(segments[segmentOf(position)].content(), offsetOf(position));
+        }
+    };
+    private volatile Segment[] segments;
+    private long syncedPosition;
+
+    /**
+     * Open repository with default segment size that forces each creation to the storage device
+     *
+     * @param directory directory with segment files; it's created if it doesn't exist
+     */
+    public FileMessageRepository(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, true);
+    }
+
+    /**
+     * Open repository
+     *
+     * @param directory    directory with segment files; it's created if it doesn't exist
+     * @param segmentSize  size of new segment files in bytes
+     * @param syncOnCreate true if creation should return after message is forced to the storage device
+     */
+    public FileMessageRepository(File directory, int segmentSize, boolean syncOnCreate) {
+        checkArgument(segmentSize > RecordCodec.HEADER_SIZE, "Segment size too small: %s", segmentSize);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnCreate = syncOnCreate;
+        try {
+            recover();
+        } catch (IOException e) {
+            tracer(this).error("Couldn't open repository: %s", e, directory);
+            throw new IllegalStateException(format("Couldn't open repository: %s", directory), e);
+        }
+    }
+
+    @Override
+    public Message create(Message entity) {
+        tracer(this).debug("Creating message: %s", entity);
+        try {
+            EntityId entityID = EntityId.generate();
+            entity.setEntityKey(entityID);
+            ByteBuffer record = RecordCodec.encode(entity);
+            TextIndex.Terms terms = TextIndex.termsOf(entity);
+            checkArgument(record.remaining() <= segmentSize, "Message exceeds segment size: %s", record.remaining());
+            long end;
+            appendLock.lock();
+            try {
+                Segment segment = segments[segments.length - 1];
+                if (!segment.fits(record.remaining())) {
+                    segment = roll(segment);
+                }
+                int offset = segment.append(record);
+                ids.put(entityID, positions.size());
+                index.add(entity, positions.size());
+                textIndex.add(terms, positions.size());
+                positions.add(position(segment.number(), offset));
+                end = position(segment.number(), segment.end());
+            } finally {
+                appendLock.unlock();
+            }
+            if (syncOnCreate) {
+                awaitSync(end);
+            }
+            return entity;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't create message: %s", e, entity);
+            throw new RuntimeException(format("Couldn't create message: %s", entity), e);
+        }
+    }
+
+    @Override
+    public List<Message> createAll(List<Message> entities) {
+        tracer(this).debug("Creating messages: %d", entities.size());
+        try {
+            // records are encoded one after another, so records fitting into active segment are written at once
+            ByteBuffer[] records = new ByteBuffer[entities.size()];
+            TextIndex.Terms[] terms = new TextIndex.Terms[entities.size()];
+            int[] offsets = new int[entities.size() + 1];
+            for (int i = 0; i < records.length; i++) {
+                Message entity = entities.get(i);
+                entity.setEntityKey(EntityId.generate());
+                records[i] = RecordCodec.encode(entity);
+                terms[i] = TextIndex.termsOf(entity);
+                checkArgument(records[i].remaining() <= segmentSize, "Message exceeds segment size: %s", records[i].remaining());
+                offsets[i + 1] = offsets[i] + records[i].remaining();
+            }
+            ByteBuffer batch = ByteBuffer.allocate(offsets[records.length]);
+            for (ByteBuffer record : records) {
+                batch.put(record);
+            }
+            long end;
+            appendLock.lock();
+            try {
+                Segment segment = segments[segments.length - 1];
+                for (int first = 0, last; first < records.length; first = last) {
+                    if (!segment.fits(offsets[first + 1] - offsets[first])) {
+                        segment = roll(segment);
+                    }
+                    last = first + 1;
+                    while (last < records.length && segment.fits(offsets[last + 1] - offsets[first])) {
+                        last++;
+                    }
+                    ByteBuffer run = batch.duplicate();
+                    run.limit(offsets[last]).position(offsets[first]);
+                    int offset = segment.append(run.slice());
+                    for (int i = first; i < last; i++) {
+                        ids.put(entities.get(i).getEntityKey(), positions.size());
+                        index.add(entities.get(i), positions.size());
+                        textIndex.add(terms[i], positions.size());
+                        positions.add(position(segment.number(), offset + offsets[i] - offsets[first]));
+                    }
+                }
+                end = position(segment.number(), segment.end());
+            } finally {
+                appendLock.unlock();
+            }
+            if (syncOnCreate) {
+                awaitSync(end);
+            }
+            return entities;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't create messages: %d", e, entities.size());
+            throw new RuntimeException(format("Couldn't create messages: %d", entities.size()), e);
+        }
+    }
+
+    @Override
+    public Message find(String id, Projection projection) {
+        tracer(this).debug("Find message - id: %s", id);
+        try {
+            int index = indexOf(id, positions.size());
+            return index < 0 ? null : read(index, projection);
+        } catch (Exception e) {
+            tracer(this).error("Couldn't find message - id: %s", e, id);
+            throw new RuntimeException(format("Couldn't find message - id: %s", id), e);
+        }
+    }
+
+    @Override
+    public List<Message> findAll(List<String> ids, Projection projection) {
+        tracer(this).debug("Find messages - ids: %s", ids);
+        try {
+            int size = positions.size();
+            List<Message> list = new ArrayList<Message>(ids.size());
+            for (String id : ids) {
+                int index = indexOf(id, size);
+                if (index >= 0) {
+                    list.add(read(index, projection));
+                }
+            }
+            return list;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't find messages - ids: %s", e, ids);
+            throw new RuntimeException(format("Couldn't find messages - ids: %s", ids), e);
+        }
+    }
+
+    @Override
+    public List<Message> get(int start, int rowCount, Projection projection) {
+        tracer(this).debug("Getting messages - start: %d, rowCount: %d", start, rowCount);
+        try {
+            int size = positions.size();
+            List<Message> list = new ArrayList<Message>(Math.max(0, Math.min(rowCount, size - start)));
+            for (int i = start; i < size && list.size() < rowCount; i++) {
+                list.add(read(i, projection));
+            }
+            return list;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't get messages - start: %d, rowCount: %d", e, start, rowCount);
+            throw new RuntimeException(format("Couldn't get messages - start: %d, rowCount: %d", start, rowCount), e);
+        }
+    }
+
+    @Override
+    public Slice<Message> scroll(String token, int rowCount, Projection projection) {
+        tracer(this).debug("Scrolling messages - token: %s, rowCount: %d", token, rowCount);
+        int start = SequenceTokens.decode(token);
+        List<Message> list = get(start, rowCount, projection);
+        int next = start + list.size();
+        String previousToken = start > 0 ? SequenceTokens.encode(Math.max(0, start - rowCount)) : null;
+        String nextToken = next < positions.size() ? SequenceTokens.encode(next) : null;
+        return new Slice<Message>(list, previousToken, nextToken);
+    }
+
+    @Override
+    public Slice<Message> query(Criteria criteria, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Querying messages - criteria: %s, token: %s, rowCount: %d", criteria, token, rowCount);
+        Slice<Integer> found = index.query(criteria, token, rowCount, positions.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(read(position, projection));
+        }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Slice<Message> search(String text, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Searching messages - text: %s, token: %s, rowCount: %d", text, token, rowCount);
+        Slice<Integer> found = textIndex.search(text, token, rowCount, positions.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(read(position, projection));
+        }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Iterator<Message> iterate(final int start, final Projection projection) {
+        tracer(this).debug("Iterating messages - start: %d", start);
+        final int end = positions.size();
+        return new UnmodifiableIterator<Message>() {
+
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Message next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return read(next++, projection);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Force appended messages to the storage device and close segment files.
+     * Messages read before closing stay valid.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.force();
+                segment.close();
+            }
+        } catch (IOException e) {
+            tracer(this).error("Couldn't close repository: %s", e, directory);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private int indexOf(String id, int size) {
+        EntityId entityId = EntityId.tryParse(id);
+        return entityId == null ? -1 : ids.find(entityId, size, recordIds);
+    }
+
+    private Message read(int index, Projection projection) {
+        long position = positions.get(index);
+        return RecordCodec.decode(segments[segmentOf(position)].content(), offsetOf(position), projection);
+    }
+
+    /**
+     * Wait until log is forced at least up to chosen position. Thread that finds log not forced enough
+     * forces all records appended so far, so threads waiting meanwhile usually find their records already forced.
+     *
+     * @param end position following the record
+     * @throws IOException if log couldn't be forced
+     */
+    private void awaitSync(long end) throws IOException {
+        // lock (not monitor) so virtual threads waiting for the force don't pin their carriers
+        syncLock.lock();
+        try {
+            if (syncedPosition >= end) {
+                return;
+            }
+            Segment segment = segments[segments.length - 1];
+            long target = position(segment.number(), segment.end());
+            segment.force();
+            syncedPosition = Math.max(syncedPosition, target);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Close full segment and start the next one. Must be called under append lock.
+     *
+     * @param full segment that doesn't fit next record
+     * @return new active segment
+     * @throws IOException if segment couldn't be created
+     */
+    private Segment roll(Segment full) throws IOException {
+        full.force();
+        syncLock.lock();
+        try {
+            // records of previous segments are never forced again
+            syncedPosition = Math.max(syncedPosition, position(full.number(), full.end()));
+        } finally {
+            syncLock.unlock();
+        }
+        Segment next = Segment.open(directory, full.number() + 1, segmentSize);
+        Segment[] current = segments;
+        Segment[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = next;
+        segments = extended;
+        tracer(this).info("Rolled segment: %d", next.number());
+        return next;
+    }
+
+    /**
+     * Open all segments and index their records. Torn record at the tail of the last segment is truncated.
+     *
+     * @throws IOException if segments couldn't be read
+     */
+    private void recover() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(format("Couldn't create directory: %s", directory));
+        }
+        TreeMap<Integer, File> files = new TreeMap<Integer, File>();
+        File[] listed = directory.listFiles();
+        for (File file : listed == null ? new File[0] : listed) {
+            int number = Segment.numberOf(file);
+            if (number >= 0) {
+                files.put(number, file);
+            }
+        }
+        List<Segment> recovered = new ArrayList<Segment>();
+        int number = 0;
+        for (int found : files.keySet()) {
+            if (found != number) {
+                throw new IOException(format("Missing segment: %d", number));
+            }
+            boolean last = number == files.lastKey();
+            recovered.add(recoverSegment(Segment.open(directory, number, segmentSize), last));
+            number++;
+        }
+        if (recovered.isEmpty()) {
+            recovered.add(Segment.open(directory, 0, segmentSize));
+        }
+        Segment active = recovered.get(recovered.size() - 1);
+        segments = recovered.toArray(new Segment[recovered.size()]);
+        syncedPosition = position(active.number(), active.end());
+        tracer(this).info("Opened repository: %s, segments: %d, messages: %d", directory, segments.length, positions.size());
+    }
+
+    /**
+     * Index records of single segment
+     *
+     * @param segment opened segment
+     * @param last    true if segment is the last one, only the last segment can have torn record
+     * @return the same segment with set end of records
+     * @throws IOException if segment is broken or couldn't be truncated
+     */
+    private Segment recoverSegment(Segment segment, boolean last) throws IOException {
+        ByteBuffer content = segment.content();
+        int position = 0;
+        int length;
+        while ((length = RecordCodec.check(content, position)) > 0) {
+            ids.put(RecordCodec.decodeEntityId(content, position), positions.size());
+            Message message = RecordCodec.decode(content, position, Projection.ALL);
+            index.add(message, positions.size());
+            textIndex.add(TextIndex.termsOf(message), positions.size());
+            positions.add(position(segment.number(), position));
+            position += length;
+        }
+        if (length < 0) {
+            if (!last) {
+                segment.close();
+                throw new IOException(format("Broken record - segment: %d, position: %d", segment.number(), position));
+            }
+            tracer(this).warn("Truncating torn record - segment: %d, position: %d", segment.number(), position);
+        }
+        segment.recover(position, length < 0);
+        return segment;
+    }
+
+}
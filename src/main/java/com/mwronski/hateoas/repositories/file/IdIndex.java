@@ -0,0 +1,111 @@
+package com.mwronski.hateoas.repositories.file;
+
+import com.mwronski.hateoas.model.EntityId;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Index of records by entity ID. <br/>
+ * Index is open-addressing hash table that keeps only hash of ID and index of record in single long,
+ * candidates are verified by reading ID of record.
+ * Index has single writer, reads don't need any locks.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class IdIndex {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /**
+     * Source of IDs of indexed records
+     */
+    interface Ids {
+
+        /**
+         * Get ID of chosen record
+         *
+         * @param index of record
+         * @return non-nullable ID
+         */
+        EntityId idOf(int index);
+
+    }
+
+    private volatile AtomicLongArray slots = new AtomicLongArray(INITIAL_CAPACITY);
+    private int count;
+
+    /**
+     * Add ID of record. Each ID can be added once.
+     *
+     * @param id    of record
+     * @param index of record
+     */
+    void put(EntityId id, int index) {
+        if ((count + 1) * 2 > slots.length()) {
+            resize();
+        }
+        insert(slots, hash(id), index);
+        count++;
+    }
+
+    /**
+     * Find record with chosen ID
+     *
+     * @param id   of record
+     * @param size number of records that can be taken into account
+     * @param ids  source of IDs of records
+     * @return index of record, -1 if record wasn't found
+     */
+    int find(EntityId id, int size, Ids ids) {
+        int hash = hash(id);
+        AtomicLongArray current = slots;
+        int mask = current.length() - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = current.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            int index = indexOf(entry);
+            if (hashOf(entry) == hash && index < size && id.equals(ids.idOf(index))) {
+                return index;
+            }
+        }
+    }
+
+    private void resize() {
+        AtomicLongArray current = slots;
+        AtomicLongArray resized = new AtomicLongArray(current.length() * 2);
+        for (int i = 0; i < current.length(); i++) {
+            long entry = current.get(i);
+            if (entry != 0) {
+                insert(resized, hashOf(entry), indexOf(entry));
+            }
+        }
+        slots = resized;
+    }
+
+    private static void insert(AtomicLongArray slots, int hash, int index) {
+        int mask = slots.length() - 1;
+        int slot = hash & mask;
+        while (slots.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.set(slot, ((long) hash << 32) | (index + 1L));
+    }
+
+    private static int hash(EntityId id) {
+        int hash = id.hashCode() * GOLDEN_RATIO;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hashOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int indexOf(long entry) {
+        return (int) entry - 1;
+    }
+
+}
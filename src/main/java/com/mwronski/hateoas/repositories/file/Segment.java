@@ -0,0 +1,176 @@
+package com.mwronski.hateoas.repositories.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Single file of the log with preallocated size. <br/>
+ * Records are appended with positional writes of channel and read through memory-mapped view of whole file,
+ * unused space of file is filled with zeros so the end of records can be found after restart.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class Segment implements Closeable {
+
+    private static final String FILE_SUFFIX = ".log";
+
+    private final int number;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final MappedByteBuffer content;
+    private volatile int end;
+
+    private Segment(int number, RandomAccessFile file, int size) throws IOException {
+        this.number = number;
+        this.file = file;
+        this.channel = file.getChannel();
+        this.content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * Open segment, file of segment is created if it doesn't exist
+     *
+     * @param directory directory of the log
+     * @param number    sequential number of segment
+     * @param size      minimum size of new segment in bytes
+     * @return opened segment without records; end of records must be set by recovery
+     * @throws IOException if segment couldn't be opened
+     */
+    static Segment open(File directory, int number, int size) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(fileOf(directory, number), "rw");
+        try {
+            if (file.length() < size) {
+                file.setLength(size);
+            }
+            return new Segment(number, file, (int) file.length());
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get file of chosen segment
+     *
+     * @param directory directory of the log
+     * @param number    sequential number of segment
+     * @return non-nullable file
+     */
+    static File fileOf(File directory, int number) {
+        return new File(directory, String.format("%010d%s", number, FILE_SUFFIX));
+    }
+
+    /**
+     * Get number of segment kept in chosen file
+     *
+     * @param file to be checked
+     * @return number of segment, -1 if file doesn't keep segment
+     */
+    static int numberOf(File file) {
+        String name = file.getName();
+        if (!name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    int number() {
+        return number;
+    }
+
+    /**
+     * Get position following the last record
+     *
+     * @return number of used bytes
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * Get capacity of segment
+     *
+     * @return size of segment in bytes
+     */
+    int size() {
+        return content.capacity();
+    }
+
+    /**
+     * Check whether record fits into free space of segment
+     *
+     * @param length of record in bytes
+     * @return true if record can be appended
+     */
+    boolean fits(int length) {
+        return end + length <= size();
+    }
+
+    /**
+     * Append record. Appends must be ordered by the caller.
+     *
+     * @param record encoded record that fits into segment
+     * @return position of appended record
+     * @throws IOException if record couldn't be written
+     */
+    int append(ByteBuffer record) throws IOException {
+        int position = end;
+        while (record.hasRemaining()) {
+            channel.write(record, position + record.position());
+        }
+        end = position + record.position();
+        return position;
+    }
+
+    /**
+     * Get view of segment content for reading; view shares memory with segment, but not its position
+     *
+     * @return non-nullable buffer
+     */
+    ByteBuffer content() {
+        return content.duplicate();
+    }
+
+    /**
+     * Force appended records to the storage device
+     *
+     * @throws IOException if records couldn't be forced
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Set end of valid records found by recovery. Content placed after the end is removed.
+     *
+     * @param position following the last valid record
+     * @param truncate true if content placed after the end should be removed
+     * @throws IOException if content couldn't be removed
+     */
+    void recover(int position, boolean truncate) throws IOException {
+        if (truncate) {
+            int size = size();
+            channel.truncate(position);
+            // restore preallocated space filled with zeros
+            file.setLength(size);
+            channel.force(true);
+        }
+        end = position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+}
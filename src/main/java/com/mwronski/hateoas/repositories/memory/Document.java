@@ -0,0 +1,23 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Projection;
+
+/**
+ * Single message kept by in-memory repository in representation chosen by storage mode.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see StorageMode
+ */
+interface Document {
+
+    /**
+     * Build message from stored representation
+     *
+     * @param projection columns that should be set in result
+     * @return non-nullable instance of new message
+     */
+    Message toMessage(Projection projection);
+
+}
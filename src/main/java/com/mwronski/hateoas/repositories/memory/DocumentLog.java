@@ -0,0 +1,65 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import java.util.Arrays;
+
+/**
+ * Append-only log of documents kept in chunks. <br/>
+ * Log has single writer (appends are ordered by the repository). Reads don't need any locks:
+ * document stored under index lower than published size is always visible to reader.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class DocumentLog {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+
+    private volatile Document[][] chunks = new Document[INITIAL_CHUNKS][];
+    private volatile int size;
+
+    /**
+     * Append document at the end of the log
+     *
+     * @param document to be appended
+     * @return index of appended document
+     */
+    int append(Document document) {
+        int index = size;
+        Document[][] current = chunks;
+        int chunk = index >>> CHUNK_BITS;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new Document[CHUNK_SIZE];
+        }
+        current[chunk][index & CHUNK_MASK] = document;
+        chunks = current;
+        // publish document to readers
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Get document
+     *
+     * @param index of document lower than size of the log
+     * @return non-nullable document
+     */
+    Document get(int index) {
+        return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    /**
+     * Get number of published documents
+     *
+     * @return number of documents
+     */
+    int size() {
+        return size;
+    }
+
+}
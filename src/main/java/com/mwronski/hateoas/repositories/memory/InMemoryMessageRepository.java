@@ -1,22 +1,37 @@
 package com.mwronski.hateoas.repositories.memory;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.common.collect.UnmodifiableIterator;
+import com.mwronski.hateoas.metrics.TimedLock;
+import com.mwronski.hateoas.model.EntityId;
 import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.MessageIndex;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.SequenceTokens;
+import com.mwronski.hateoas.repositories.Slice;
+import com.mwronski.hateoas.repositories.search.TextIndex;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
 
 import static com.mwronski.hateoas.log.Tracer.tracer;
 import static java.lang.String.format;
 
 /**
  * Basic implementation of repository that manages messages. Repository keeps all data in-memory thus
- * should used with deliberation. Implementation is thread safe.
+ * should used with deliberation. Implementation is thread safe. <br/>
+ * Representation of kept messages depends on chosen storage mode. <br/>
+ * Messages are prepared outside of any lock and appended to the log in order of creation,
+ * short critical section appends message to the log and secondary indexes.
+ * Reads don't take any locks. Messages are indexed by binary IDs.
  *
  * @author Michal Wronski
  * @date 27-05-2014
@@ -25,83 +40,198 @@ import static java.lang.String.format;
 @Component
 public final class InMemoryMessageRepository implements Repository<Message> {
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<String> documents = new ArrayList<String>();
-    private final Map<String, String> documentsById = new HashMap<String, String>();
+    private final Lock appendLock = new TimedLock("repository.append.lock");
+    private final DocumentLog documents = new DocumentLog();
+    private final MessageIndex index = new MessageIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final ConcurrentMap<EntityId, Document> documentsById = new ConcurrentHashMap<EntityId, Document>();
+    private final StorageMode storageMode;
+
+    /**
+     * Create repository keeping messages as records
+     */
+    public InMemoryMessageRepository() {
+        this(StorageMode.RECORDS);
+    }
+
+    /**
+     * Create repository
+     *
+     * @param storageMode representation in which messages should be kept
+     */
+    public InMemoryMessageRepository(StorageMode storageMode) {
+        this.storageMode = storageMode;
+    }
 
     @Override
     public Message create(Message entity) {
         tracer(this).debug("Creating message: %s", entity);
-        lock.writeLock().lock();
         try {
-            String entityID = UUID.randomUUID().toString();
-            entity.setEntityId(entityID);
-            String json = new Gson().toJson(entity);
-            documents.add(json);
-            documentsById.put(entityID, json);
+            EntityId entityID = EntityId.generate();
+            entity.setEntityKey(entityID);
+            Document document = storageMode.toDocument(entity);
+            TextIndex.Terms terms = TextIndex.termsOf(entity);
+            // message can be found before it's listed, so each listed message can be found
+            documentsById.put(entityID, document);
+            appendLock.lock();
+            try {
+                int position = documents.append(document);
+                index.add(entity, position);
+                textIndex.add(terms, position);
+            } finally {
+                appendLock.unlock();
+            }
             return entity;
         } catch (Exception e) {
-            tracer(this).error("Couldn't create message: %s", entity, e);
+            tracer(this).error("Couldn't create message: %s", e, entity);
             throw new RuntimeException(format("Couldn't create message: %s", entity));
-        } finally {
-            lock.writeLock().unlock();
         }
     }
 
     @Override
-    public Message find(String id, String... columns) {
+    public List<Message> createAll(List<Message> entities) {
+        tracer(this).debug("Creating messages: %d", entities.size());
+        try {
+            Document[] prepared = new Document[entities.size()];
+            TextIndex.Terms[] terms = new TextIndex.Terms[entities.size()];
+            for (int i = 0; i < prepared.length; i++) {
+                Message entity = entities.get(i);
+                entity.setEntityKey(EntityId.generate());
+                prepared[i] = storageMode.toDocument(entity);
+                terms[i] = TextIndex.termsOf(entity);
+            }
+            // messages can be found before they're listed, so each listed message can be found
+            for (int i = 0; i < prepared.length; i++) {
+                documentsById.put(entities.get(i).getEntityKey(), prepared[i]);
+            }
+            appendLock.lock();
+            try {
+                for (int i = 0; i < prepared.length; i++) {
+                    int position = documents.append(prepared[i]);
+                    index.add(entities.get(i), position);
+                    textIndex.add(terms[i], position);
+                }
+            } finally {
+                appendLock.unlock();
+            }
+            return entities;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't create messages: %d", e, entities.size());
+            throw new RuntimeException(format("Couldn't create messages: %d", entities.size()), e);
+        }
+    }
+
+    @Override
+    public Message find(String id, Projection projection) {
         tracer(this).debug("Find message - id: %s", id);
-        lock.readLock().lock();
         try {
-            String json = documentsById.get(id);
-            return json == null ? null : fromJson(json, columns);
+            Document document = documentOf(id);
+            return document == null ? null : document.toMessage(projection);
         } catch (Exception e) {
             tracer(this).error("Couldn't find message - id: %s", e, id);
             throw new RuntimeException(format("Couldn't find message - id: %s", id), e);
-        } finally {
-            lock.readLock().unlock();
         }
     }
 
     @Override
-    public List<Message> get(int start, int rowCount, String... columns) {
+    public List<Message> findAll(List<String> ids, Projection projection) {
+        tracer(this).debug("Find messages - ids: %s", ids);
+        try {
+            List<Message> list = new ArrayList<Message>(ids.size());
+            for (String id : ids) {
+                Document document = documentOf(id);
+                if (document != null) {
+                    list.add(document.toMessage(projection));
+                }
+            }
+            return list;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't find messages - ids: %s", e, ids);
+            throw new RuntimeException(format("Couldn't find messages - ids: %s", ids), e);
+        }
+    }
+
+    @Override
+    public List<Message> get(int start, int rowCount, Projection projection) {
         tracer(this).debug("Getting messages - start: %d, rowCount: %d", start, rowCount);
-        lock.readLock().lock();
         try {
+            int size = documents.size();
             List<Message> list = new ArrayList<Message>(rowCount);
-            for (int i = start; i < documents.size() && list.size() < rowCount; i++) {
-                list.add(fromJson(documents.get(i), columns));
+            for (int i = start; i < size && list.size() < rowCount; i++) {
+                list.add(documents.get(i).toMessage(projection));
             }
             return list;
         } catch (Exception e) {
             tracer(this).error("Couldn't get messages - start: %d, rowCount: %d", e, start, rowCount);
-            tracer(this).error("Couldn't get messages - columns: %s", (Object[]) columns);
+            tracer(this).error("Couldn't get messages - projection: %s", projection);
             throw new RuntimeException(format("Couldn't get messages - start: %d, rowCount: %d", start, rowCount), e);
-        } finally {
-            lock.readLock().unlock();
         }
     }
 
-    /**
-     * Deserialize message from JSON representation
-     *
-     * @param json
-     * @param columns optional columns that should be returned in results. If not given all will be taken.
-     * @return
-     */
-    private Message fromJson(String json, String... columns) {
-        Gson gson = new GsonBuilder().setExclusionStrategies(new ColumnsFilter(columns)).create();
-        return gson.fromJson(json, Message.class);
+    @Override
+    public Slice<Message> scroll(String token, int rowCount, Projection projection) {
+        tracer(this).debug("Scrolling messages - token: %s, rowCount: %d", token, rowCount);
+        int start = SequenceTokens.decode(token);
+        List<Message> list = get(start, rowCount, projection);
+        int next = start + list.size();
+        String previousToken = start > 0 ? SequenceTokens.encode(Math.max(0, start - rowCount)) : null;
+        String nextToken = next < documents.size() ? SequenceTokens.encode(next) : null;
+        return new Slice<Message>(list, previousToken, nextToken);
     }
 
     @Override
-    public int size() {
-        lock.readLock().lock();
-        try {
-            return documents.size();
-        } finally {
-            lock.readLock().unlock();
+    public Slice<Message> query(Criteria criteria, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Querying messages - criteria: %s, token: %s, rowCount: %d", criteria, token, rowCount);
+        Slice<Integer> found = index.query(criteria, token, rowCount, documents.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(documents.get(position).toMessage(projection));
         }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Slice<Message> search(String text, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Searching messages - text: %s, token: %s, rowCount: %d", text, token, rowCount);
+        Slice<Integer> found = textIndex.search(text, token, rowCount, documents.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(documents.get(position).toMessage(projection));
+        }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Iterator<Message> iterate(final int start, final Projection projection) {
+        tracer(this).debug("Iterating messages - start: %d", start);
+        final int end = documents.size();
+        return new UnmodifiableIterator<Message>() {
+
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Message next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return documents.get(next++).toMessage(projection);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return documents.size();
+    }
+
+    private Document documentOf(String id) {
+        EntityId entityId = EntityId.tryParse(id);
+        return entityId == null ? null : documentsById.get(entityId);
     }
 
 }
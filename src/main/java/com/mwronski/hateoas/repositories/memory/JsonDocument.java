@@ -0,0 +1,135 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mwronski.hateoas.metrics.Metric;
+import com.mwronski.hateoas.metrics.Metrics;
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static com.mwronski.hateoas.repositories.memory.MessageRecord.COLUMN_CONTENT;
+import static com.mwronski.hateoas.repositories.memory.MessageRecord.COLUMN_SENDER;
+import static com.mwronski.hateoas.repositories.memory.MessageRecord.COLUMN_TITLE;
+import static java.lang.String.format;
+
+/**
+ * Message kept as JSON string. Reads are streamed: values of columns that aren't requested are skipped
+ * without being materialized and reading stops as soon as all requested columns are taken.
+ * Columns are written in fixed order with potentially large content as the last one,
+ * so reads of other columns never scan it. Null values are written explicitly to keep the order.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see StorageMode#JSON
+ */
+final class JsonDocument implements Document {
+
+    private static final String[] COLUMNS = {ResourceEntity.COLUMN_ENTITY_ID, COLUMN_TITLE, COLUMN_SENDER, COLUMN_CONTENT};
+    private static final String MSB = "msb";
+    private static final String LSB = "lsb";
+    private static final Metric DESERIALIZATION = Metrics.metric("repository.deserialize.json", Metric.Unit.MICROSECONDS);
+
+    private final String json;
+
+    JsonDocument(Message message) {
+        StringWriter out = new StringWriter();
+        try {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginObject();
+            EntityId entityId = message.getEntityKey();
+            writer.name(ResourceEntity.COLUMN_ENTITY_ID).beginObject()
+                    .name(MSB).value(entityId.getMostSignificantBits())
+                    .name(LSB).value(entityId.getLeastSignificantBits())
+                    .endObject();
+            writer.name(COLUMN_TITLE).value(message.getTitle());
+            writer.name(COLUMN_SENDER).value(message.getSender());
+            writer.name(COLUMN_CONTENT).value(message.getContent());
+            writer.endObject();
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(format("Couldn't write message: %s", message), e);
+        }
+        this.json = out.toString();
+    }
+
+    @Override
+    public Message toMessage(Projection projection) {
+        long start = Metrics.startTime();
+        Message message = new Message();
+        try {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            reader.beginObject();
+            for (int remaining = includedColumns(projection); remaining > 0 && reader.hasNext(); ) {
+                String column = reader.nextName();
+                if (projection.includes(column)) {
+                    read(reader, column, message);
+                    remaining--;
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(format("Broken document: %s", json), e);
+        }
+        DESERIALIZATION.recordTime(start);
+        return message;
+    }
+
+    private static int includedColumns(Projection projection) {
+        int included = 0;
+        for (String column : COLUMNS) {
+            if (projection.includes(column)) {
+                included++;
+            }
+        }
+        return included;
+    }
+
+    private static void read(JsonReader reader, String column, Message message) throws IOException {
+        if (ResourceEntity.COLUMN_ENTITY_ID.equals(column)) {
+            message.setEntityKey(readEntityId(reader));
+        } else if (COLUMN_TITLE.equals(column)) {
+            message.setTitle(readString(reader));
+        } else if (COLUMN_SENDER.equals(column)) {
+            message.setSender(readString(reader));
+        } else if (COLUMN_CONTENT.equals(column)) {
+            message.setContent(readString(reader));
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    private static EntityId readEntityId(JsonReader reader) throws IOException {
+        long msb = 0;
+        long lsb = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (MSB.equals(name)) {
+                msb = reader.nextLong();
+            } else if (LSB.equals(name)) {
+                lsb = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new EntityId(msb, lsb);
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+
+/**
+ * Immutable copy of message fields. Projected messages are built directly from fields
+ * so no parsing is needed while reading.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see StorageMode#RECORDS
+ */
+final class MessageRecord implements Document {
+
+    static final String COLUMN_TITLE = "title";
+    static final String COLUMN_CONTENT = "content";
+    static final String COLUMN_SENDER = "sender";
+
+    private final EntityId entityId;
+    private final String title;
+    private final String content;
+    private final String sender;
+
+    MessageRecord(Message message) {
+        this.entityId = message.getEntityKey();
+        this.title = message.getTitle();
+        this.content = message.getContent();
+        this.sender = message.getSender();
+    }
+
+    @Override
+    public Message toMessage(Projection projection) {
+        Message message = new Message();
+        if (projection.includes(ResourceEntity.COLUMN_ENTITY_ID)) {
+            message.setEntityKey(entityId);
+        }
+        if (projection.includes(COLUMN_TITLE)) {
+            message.setTitle(title);
+        }
+        if (projection.includes(COLUMN_CONTENT)) {
+            message.setContent(content);
+        }
+        if (projection.includes(COLUMN_SENDER)) {
+            message.setSender(sender);
+        }
+        return message;
+    }
+
+}
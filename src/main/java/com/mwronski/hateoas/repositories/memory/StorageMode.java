@@ -0,0 +1,42 @@
+package com.mwronski.hateoas.repositories.memory;
+
+import com.mwronski.hateoas.model.Message;
+
+/**
+ * Representation in which in-memory repository keeps messages
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see InMemoryMessageRepository
+ */
+public enum StorageMode {
+
+    /**
+     * Messages are kept as JSON strings and parsed on each read
+     */
+    JSON {
+        @Override
+        Document toDocument(Message message) {
+            return new JsonDocument(message);
+        }
+    },
+
+    /**
+     * Messages are kept as immutable records and projected without parsing
+     */
+    RECORDS {
+        @Override
+        Document toDocument(Message message) {
+            return new MessageRecord(message);
+        }
+    };
+
+    /**
+     * Convert message into stored representation
+     *
+     * @param message with filled ID
+     * @return non-nullable document
+     */
+    abstract Document toDocument(Message message);
+
+}
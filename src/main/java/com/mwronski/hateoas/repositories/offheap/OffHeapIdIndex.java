@@ -0,0 +1,117 @@
+package com.mwronski.hateoas.repositories.offheap;
+
+import com.mwronski.hateoas.model.EntityId;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Index of records by entity ID kept in direct memory. <br/>
+ * Index is open-addressing hash table that keeps only hash of ID and index of record in single long,
+ * candidates are verified by comparing ID kept in record. Index has single writer, reads don't need any locks.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class OffHeapIdIndex {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /**
+     * Records verifying candidates found in index
+     */
+    interface Records {
+
+        /**
+         * Check whether chosen record keeps message with given ID
+         *
+         * @param index    of record
+         * @param entityId ID of message
+         * @return true if IDs are the same
+         */
+        boolean hasEntityId(int index, EntityId entityId);
+
+    }
+
+    private volatile LongBuffer slots = allocate(INITIAL_CAPACITY);
+    private int count;
+
+    /**
+     * Add ID of record. Each ID can be added once.
+     *
+     * @param id    of record
+     * @param index of record
+     */
+    void put(EntityId id, int index) {
+        if ((count + 1) * 2 > slots.capacity()) {
+            resize();
+        }
+        insert(slots, hash(id), index);
+        count++;
+    }
+
+    /**
+     * Find record with chosen ID
+     *
+     * @param id      of record
+     * @param size    number of records that can be taken into account
+     * @param records verifying found candidates
+     * @return index of record, -1 if record wasn't found
+     */
+    int find(EntityId id, int size, Records records) {
+        int hash = hash(id);
+        LongBuffer current = slots;
+        int mask = current.capacity() - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = current.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            int index = indexOf(entry);
+            if (hashOf(entry) == hash && index < size && records.hasEntityId(index, id)) {
+                return index;
+            }
+        }
+    }
+
+    private void resize() {
+        LongBuffer current = slots;
+        LongBuffer resized = allocate(current.capacity() * 2);
+        for (int i = 0; i < current.capacity(); i++) {
+            long entry = current.get(i);
+            if (entry != 0) {
+                insert(resized, hashOf(entry), indexOf(entry));
+            }
+        }
+        slots = resized;
+    }
+
+    private static LongBuffer allocate(int capacity) {
+        // direct memory is zeroed, so all slots are free
+        return ByteBuffer.allocateDirect(capacity * 8).asLongBuffer();
+    }
+
+    private static void insert(LongBuffer slots, int hash, int index) {
+        int mask = slots.capacity() - 1;
+        int slot = hash & mask;
+        while (slots.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.put(slot, ((long) hash << 32) | (index + 1L));
+    }
+
+    private static int hash(EntityId id) {
+        int hash = id.hashCode() * GOLDEN_RATIO;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hashOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int indexOf(long entry) {
+        return (int) entry - 1;
+    }
+
+}
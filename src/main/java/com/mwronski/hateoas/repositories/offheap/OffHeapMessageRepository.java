@@ -0,0 +1,290 @@
+package com.mwronski.hateoas.repositories.offheap;
+
+import com.google.common.collect.UnmodifiableIterator;
+import com.mwronski.hateoas.metrics.TimedLock;
+import com.mwronski.hateoas.model.EntityId;
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.MessageIndex;
+import com.mwronski.hateoas.repositories.RecordCodec;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.SequenceTokens;
+import com.mwronski.hateoas.repositories.Slice;
+import com.mwronski.hateoas.repositories.search.TextIndex;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+import static com.mwronski.hateoas.repositories.offheap.OffHeapPositions.offsetOf;
+import static com.mwronski.hateoas.repositories.offheap.OffHeapPositions.position;
+import static com.mwronski.hateoas.repositories.offheap.OffHeapPositions.slabOf;
+import static java.lang.String.format;
+
+/**
+ * Repository that keeps encoded messages outside of the heap, so size of the heap and work of garbage collector
+ * don't grow with number of messages. Implementation is thread safe. <br/>
+ * Messages are appended to slabs of direct memory, positions of records and index of IDs are kept in direct memory as well.
+ * Secondary indexes used for querying are kept on the heap.
+ * Only messages returned by reads are created on the heap and only with chosen columns.
+ * Messages are encoded outside of any lock and appended in order of creation. Reads don't take any locks.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see RecordCodec
+ */
+public final class OffHeapMessageRepository implements Repository<Message> {
+
+    /**
+     * Default size of single slab of direct memory
+     */
+    public static final int DEFAULT_SLAB_SIZE = 16 << 20;
+
+    private final int slabSize;
+    private final Lock appendLock = new TimedLock("repository.append.lock");
+    private final OffHeapPositions positions = new OffHeapPositions();
+    private final OffHeapIdIndex ids = new OffHeapIdIndex();
+    private final MessageIndex index = new MessageIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final OffHeapIdIndex.Records records = new OffHeapIdIndex.Records() {
+        @Override
+        public boolean hasEntityId(int index, EntityId entityId) {
+            long position = positions.get(index);
+            return RecordCodec.hasEntityId(slabs[slabOf(position)], offsetOf(position), entityId);
+        }
+    };
+    private volatile ByteBuffer[] slabs;
+    private int slabEnd;
+
+    /**
+     * Create repository with slabs of default size
+     */
+    public OffHeapMessageRepository() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Create repository
+     *
+     * @param slabSize size of single slab of direct memory in bytes
+     */
+    public OffHeapMessageRepository(int slabSize) {
+        checkArgument(slabSize > RecordCodec.HEADER_SIZE, "Slab size too small: %s", slabSize);
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[]{ByteBuffer.allocateDirect(slabSize)};
+    }
+
+    @Override
+    public Message create(Message entity) {
+        tracer(this).debug("Creating message: %s", entity);
+        try {
+            EntityId entityID = EntityId.generate();
+            entity.setEntityKey(entityID);
+            ByteBuffer record = RecordCodec.encode(entity);
+            TextIndex.Terms terms = TextIndex.termsOf(entity);
+            checkArgument(record.remaining() <= slabSize, "Message exceeds slab size: %s", record.remaining());
+            appendLock.lock();
+            try {
+                ByteBuffer[] current = slabs;
+                if (slabEnd + record.remaining() > slabSize) {
+                    current = Arrays.copyOf(current, current.length + 1);
+                    current[current.length - 1] = ByteBuffer.allocateDirect(slabSize);
+                    slabs = current;
+                    slabEnd = 0;
+                }
+                ByteBuffer slab = current[current.length - 1].duplicate();
+                slab.position(slabEnd);
+                slab.put(record);
+                ids.put(entityID, positions.size());
+                index.add(entity, positions.size());
+                textIndex.add(terms, positions.size());
+                positions.add(position(current.length - 1, slabEnd));
+                slabEnd = slab.position();
+            } finally {
+                appendLock.unlock();
+            }
+            return entity;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't create message: %s", e, entity);
+            throw new RuntimeException(format("Couldn't create message: %s", entity), e);
+        }
+    }
+
+    @Override
+    public List<Message> createAll(List<Message> entities) {
+        tracer(this).debug("Creating messages: %d", entities.size());
+        try {
+            ByteBuffer[] records = new ByteBuffer[entities.size()];
+            TextIndex.Terms[] terms = new TextIndex.Terms[entities.size()];
+            for (int i = 0; i < records.length; i++) {
+                Message entity = entities.get(i);
+                entity.setEntityKey(EntityId.generate());
+                records[i] = RecordCodec.encode(entity);
+                terms[i] = TextIndex.termsOf(entity);
+                checkArgument(records[i].remaining() <= slabSize, "Message exceeds slab size: %s", records[i].remaining());
+            }
+            appendLock.lock();
+            try {
+                ByteBuffer[] current = slabs;
+                ByteBuffer slab = current[current.length - 1].duplicate();
+                slab.position(slabEnd);
+                for (int i = 0; i < records.length; i++) {
+                    if (slab.remaining() < records[i].remaining()) {
+                        current = Arrays.copyOf(current, current.length + 1);
+                        current[current.length - 1] = ByteBuffer.allocateDirect(slabSize);
+                        slabs = current;
+                        slab = current[current.length - 1].duplicate();
+                    }
+                    int offset = slab.position();
+                    slab.put(records[i]);
+                    ids.put(entities.get(i).getEntityKey(), positions.size());
+                    index.add(entities.get(i), positions.size());
+                    textIndex.add(terms[i], positions.size());
+                    positions.add(position(current.length - 1, offset));
+                }
+                slabEnd = slab.position();
+            } finally {
+                appendLock.unlock();
+            }
+            return entities;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't create messages: %d", e, entities.size());
+            throw new RuntimeException(format("Couldn't create messages: %d", entities.size()), e);
+        }
+    }
+
+    @Override
+    public Message find(String id, Projection projection) {
+        tracer(this).debug("Find message - id: %s", id);
+        try {
+            int index = indexOf(id, positions.size());
+            return index < 0 ? null : read(index, projection);
+        } catch (Exception e) {
+            tracer(this).error("Couldn't find message - id: %s", e, id);
+            throw new RuntimeException(format("Couldn't find message - id: %s", id), e);
+        }
+    }
+
+    @Override
+    public List<Message> findAll(List<String> ids, Projection projection) {
+        tracer(this).debug("Find messages - ids: %s", ids);
+        try {
+            int size = positions.size();
+            List<Message> list = new ArrayList<Message>(ids.size());
+            for (String id : ids) {
+                int index = indexOf(id, size);
+                if (index >= 0) {
+                    list.add(read(index, projection));
+                }
+            }
+            return list;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't find messages - ids: %s", e, ids);
+            throw new RuntimeException(format("Couldn't find messages - ids: %s", ids), e);
+        }
+    }
+
+    @Override
+    public List<Message> get(int start, int rowCount, Projection projection) {
+        tracer(this).debug("Getting messages - start: %d, rowCount: %d", start, rowCount);
+        try {
+            int size = positions.size();
+            List<Message> list = new ArrayList<Message>(Math.max(0, Math.min(rowCount, size - start)));
+            for (int i = start; i < size && list.size() < rowCount; i++) {
+                list.add(read(i, projection));
+            }
+            return list;
+        } catch (Exception e) {
+            tracer(this).error("Couldn't get messages - start: %d, rowCount: %d", e, start, rowCount);
+            throw new RuntimeException(format("Couldn't get messages - start: %d, rowCount: %d", start, rowCount), e);
+        }
+    }
+
+    @Override
+    public Slice<Message> scroll(String token, int rowCount, Projection projection) {
+        tracer(this).debug("Scrolling messages - token: %s, rowCount: %d", token, rowCount);
+        int start = SequenceTokens.decode(token);
+        List<Message> list = get(start, rowCount, projection);
+        int next = start + list.size();
+        String previousToken = start > 0 ? SequenceTokens.encode(Math.max(0, start - rowCount)) : null;
+        String nextToken = next < positions.size() ? SequenceTokens.encode(next) : null;
+        return new Slice<Message>(list, previousToken, nextToken);
+    }
+
+    @Override
+    public Slice<Message> query(Criteria criteria, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Querying messages - criteria: %s, token: %s, rowCount: %d", criteria, token, rowCount);
+        Slice<Integer> found = index.query(criteria, token, rowCount, positions.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(read(position, projection));
+        }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Slice<Message> search(String text, String token, int rowCount, Projection projection) {
+        tracer(this).debug("Searching messages - text: %s, token: %s, rowCount: %d", text, token, rowCount);
+        Slice<Integer> found = textIndex.search(text, token, rowCount, positions.size());
+        List<Message> list = new ArrayList<Message>(found.getElements().size());
+        for (int position : found.getElements()) {
+            list.add(read(position, projection));
+        }
+        return new Slice<Message>(list, found.getPreviousToken(), found.getNextToken());
+    }
+
+    @Override
+    public Iterator<Message> iterate(final int start, final Projection projection) {
+        tracer(this).debug("Iterating messages - start: %d", start);
+        final int end = positions.size();
+        return new UnmodifiableIterator<Message>() {
+
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Message next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return read(next++, projection);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Get amount of direct memory taken by messages
+     *
+     * @return number of bytes of allocated slabs
+     */
+    public long allocatedBytes() {
+        return (long) slabs.length * slabSize;
+    }
+
+    private int indexOf(String id, int size) {
+        EntityId entityId = EntityId.tryParse(id);
+        return entityId == null ? -1 : ids.find(entityId, size, records);
+    }
+
+    private Message read(int index, Projection projection) {
+        long position = positions.get(index);
+        return RecordCodec.decode(slabs[slabOf(position)].duplicate(), offsetOf(position), projection);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mwronski.hateoas.repositories.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Positions of records in order of appending kept in chunks of direct memory. <br/>
+ * Index has single writer (appends are ordered by the repository). Reads don't need any locks:
+ * position stored under index lower than published size is always visible to reader.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class OffHeapPositions {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+
+    private volatile LongBuffer[] chunks = new LongBuffer[INITIAL_CHUNKS];
+    private volatile int size;
+
+    /**
+     * Create position of record
+     *
+     * @param slab   number of slab
+     * @param offset offset of record in slab
+     * @return position of record
+     */
+    static long position(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    static int slabOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Append position of next record
+     *
+     * @param position of record
+     */
+    void add(long position) {
+        int index = size;
+        LongBuffer[] current = chunks;
+        int chunk = index >>> CHUNK_BITS;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = ByteBuffer.allocateDirect(CHUNK_SIZE * 8).asLongBuffer();
+        }
+        current[chunk].put(index & CHUNK_MASK, position);
+        chunks = current;
+        // publish position to readers
+        size = index + 1;
+    }
+
+    /**
+     * Get position of record
+     *
+     * @param index of record lower than size
+     * @return position of record
+     */
+    long get(int index) {
+        return chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Get number of published positions
+     *
+     * @return number of records
+     */
+    int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.mwronski.hateoas.repositories.search;
+
+/**
+ * Okapi BM25 scoring of elements. Score grows with frequency of term in element and rarity of term,
+ * and falls with length of element compared to average length of elements.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ */
+final class Bm25 {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final float lengthNorm;
+
+    /**
+     * Create scoring for current state of index
+     *
+     * @param averageLength average number of terms of element
+     */
+    Bm25(float averageLength) {
+        this.lengthNorm = averageLength > 0 ? B / averageLength : 0;
+    }
+
+    /**
+     * Get inverse document frequency of term
+     *
+     * @param elements         number of elements
+     * @param elementsWithTerm number of elements containing term
+     * @return positive weight of term
+     */
+    static float idf(int elements, int elementsWithTerm) {
+        return (float) Math.log(1 + (elements - elementsWithTerm + 0.5) / (elementsWithTerm + 0.5));
+    }
+
+    /**
+     * Get score of term in element. Score grows with frequency and falls with length,
+     * so score of the highest frequency and the lowest length bounds scores of many elements.
+     *
+     * @param idf       inverse document frequency of term
+     * @param frequency number of occurrences of term in element
+     * @param length    number of terms of element
+     * @return non-negative score
+     */
+    float score(float idf, int frequency, int length) {
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + lengthNorm * length));
+    }
+
+}
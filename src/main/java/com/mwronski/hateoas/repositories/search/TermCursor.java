@@ -0,0 +1,197 @@
+package com.mwronski.hateoas.repositories.search;
+
+import static com.mwronski.hateoas.repositories.search.TermPostings.BLOCK_SIZE;
+import static com.mwronski.hateoas.repositories.search.TermPostings.SKIP_LAST;
+import static com.mwronski.hateoas.repositories.search.TermPostings.SKIP_MAX_FREQUENCY;
+import static com.mwronski.hateoas.repositories.search.TermPostings.SKIP_MIN_LENGTH;
+import static com.mwronski.hateoas.repositories.search.TermPostings.SKIP_OFFSET;
+import static com.mwronski.hateoas.repositories.search.TermPostings.SKIP_STRIDE;
+
+/**
+ * Reader of postings of single term. Cursor decodes entries one by one and skips whole blocks
+ * using their descriptions. Cursor sees entries published before it was created.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see TermPostings
+ */
+final class TermCursor {
+
+    /**
+     * Position of exhausted cursor
+     */
+    static final int END = Integer.MAX_VALUE;
+
+    private final int count;
+    private final byte[] data;
+    private final int[] skips;
+    private final float idf;
+    private final int maxFrequency;
+    private final int minLength;
+    private int index;
+    private int offset;
+    private int position = -1;
+    private int frequency;
+    private int shallowBlock;
+
+    /**
+     * Create cursor placed before the first entry
+     *
+     * @param postings postings of term
+     * @param idf      inverse document frequency of term
+     */
+    TermCursor(TermPostings postings, float idf) {
+        this.count = postings.count();
+        this.data = postings.data();
+        this.skips = postings.skips();
+        this.maxFrequency = postings.maxFrequency();
+        this.minLength = postings.minLength();
+        this.idf = idf;
+    }
+
+    /**
+     * Move to the next entry
+     *
+     * @return position of element or END if there are no more entries
+     */
+    int next() {
+        if (index >= count) {
+            position = END;
+            return END;
+        }
+        int delta = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[offset++];
+            delta |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[offset++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        position += delta;
+        frequency = value;
+        index++;
+        return position;
+    }
+
+    /**
+     * Move to the first entry with position not lower than given one. Blocks with lower positions aren't decoded.
+     *
+     * @param target lowest position that can be taken
+     * @return position of element or END if there are no more entries
+     */
+    int advance(int target) {
+        if (position >= target) {
+            return position;
+        }
+        int block = index / BLOCK_SIZE;
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (index % BLOCK_SIZE != 0 && skips[block * SKIP_STRIDE + SKIP_LAST] < target) {
+            // the rest of current block is skipped
+            block++;
+        }
+        while (block < blocks && skips[block * SKIP_STRIDE + SKIP_LAST] < target) {
+            block++;
+        }
+        if (block * BLOCK_SIZE > index) {
+            seek(block);
+        }
+        while (position < target && next() != END) {
+            // next entry
+        }
+        return position;
+    }
+
+    /**
+     * Move past all entries of block of current entry without decoding them
+     *
+     * @return position of the first entry of the next block or END if there are no more entries
+     */
+    int skipBlock() {
+        seek((index - 1) / BLOCK_SIZE + 1);
+        return next();
+    }
+
+    /**
+     * Get the last position of block of current entry
+     *
+     * @return position of element
+     */
+    int blockLast() {
+        return skips[(index - 1) / BLOCK_SIZE * SKIP_STRIDE + SKIP_LAST];
+    }
+
+    /**
+     * Get the highest score that can be given by entries of block of current entry
+     *
+     * @param scoring parameters of scoring
+     * @return upper bound of score
+     */
+    float blockMaxScore(Bm25 scoring) {
+        int skip = (index - 1) / BLOCK_SIZE * SKIP_STRIDE;
+        return scoring.score(idf, skips[skip + SKIP_MAX_FREQUENCY], skips[skip + SKIP_MIN_LENGTH]);
+    }
+
+    /**
+     * Get the highest score that can be given by entry with chosen position without decoding entries.
+     * Positions must be given in ascending order.
+     *
+     * @param target  position of element
+     * @param scoring parameters of scoring
+     * @return upper bound of score, 0 if there's no entry with such position
+     */
+    float blockMaxScore(int target, Bm25 scoring) {
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        while (shallowBlock < blocks && skips[shallowBlock * SKIP_STRIDE + SKIP_LAST] < target) {
+            shallowBlock++;
+        }
+        if (shallowBlock == blocks) {
+            return 0;
+        }
+        int skip = shallowBlock * SKIP_STRIDE;
+        return scoring.score(idf, skips[skip + SKIP_MAX_FREQUENCY], skips[skip + SKIP_MIN_LENGTH]);
+    }
+
+    /**
+     * Get the highest score that can be given by any entry
+     *
+     * @param scoring parameters of scoring
+     * @return upper bound of score
+     */
+    float maxScore(Bm25 scoring) {
+        return scoring.score(idf, maxFrequency, minLength);
+    }
+
+    /**
+     * Get score of current entry
+     *
+     * @param scoring parameters of scoring
+     * @param length  number of terms of current element
+     * @return score of element
+     */
+    float score(Bm25 scoring, int length) {
+        return scoring.score(idf, frequency, length);
+    }
+
+    int position() {
+        return position;
+    }
+
+    private void seek(int block) {
+        index = Math.min(block * BLOCK_SIZE, count);
+        if (index >= count) {
+            position = END;
+            return;
+        }
+        offset = skips[block * SKIP_STRIDE + SKIP_OFFSET];
+        position = block == 0 ? -1 : skips[(block - 1) * SKIP_STRIDE + SKIP_LAST];
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.mwronski.hateoas.repositories.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed postings of single term: ascending positions of elements containing the term with frequencies of the term. <br/>
+ * Postings are split into blocks of fixed number of entries. Each entry is encoded as variable-length
+ * difference from the previous position followed by variable-length frequency. Each block is described by its
+ * last position, offset of its first entry, maximum frequency and minimum length of elements,
+ * so readers can skip blocks without decoding them and bound scores of their elements. <br/>
+ * Postings have single writer (positions are appended in order of elements by the repository).
+ * Reads don't need any locks: entries lower than published count are always visible to reader.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see TermCursor
+ */
+final class TermPostings {
+
+    static final int BLOCK_SIZE = 128;
+    static final int SKIP_LAST = 0;
+    static final int SKIP_OFFSET = 1;
+    static final int SKIP_MAX_FREQUENCY = 2;
+    static final int SKIP_MIN_LENGTH = 3;
+    static final int SKIP_STRIDE = 4;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile byte[] data = new byte[INITIAL_CAPACITY];
+    private volatile int[] skips = new int[SKIP_STRIDE];
+    private volatile int count;
+    private int dataSize;
+    private int lastPosition = -1;
+    private int maxFrequency;
+    private int minLength = Integer.MAX_VALUE;
+
+    /**
+     * Append entry of next element
+     *
+     * @param position  of element greater than all positions appended before
+     * @param frequency number of occurrences of term in element
+     * @param length    number of terms of element
+     */
+    void add(int position, int frequency, int length) {
+        int index = count;
+        int block = index / BLOCK_SIZE;
+        int[] currentSkips = skips;
+        int skip = block * SKIP_STRIDE;
+        if (index % BLOCK_SIZE == 0) {
+            if (skip == currentSkips.length) {
+                currentSkips = Arrays.copyOf(currentSkips, currentSkips.length * 2);
+            }
+            currentSkips[skip + SKIP_OFFSET] = dataSize;
+            currentSkips[skip + SKIP_MAX_FREQUENCY] = frequency;
+            currentSkips[skip + SKIP_MIN_LENGTH] = length;
+        } else {
+            currentSkips[skip + SKIP_MAX_FREQUENCY] = Math.max(currentSkips[skip + SKIP_MAX_FREQUENCY], frequency);
+            currentSkips[skip + SKIP_MIN_LENGTH] = Math.min(currentSkips[skip + SKIP_MIN_LENGTH], length);
+        }
+        currentSkips[skip + SKIP_LAST] = position;
+        byte[] currentData = data;
+        if (dataSize + 10 > currentData.length) {
+            currentData = Arrays.copyOf(currentData, currentData.length * 2);
+        }
+        dataSize = writeVarInt(currentData, dataSize, position - lastPosition);
+        dataSize = writeVarInt(currentData, dataSize, frequency);
+        lastPosition = position;
+        maxFrequency = Math.max(maxFrequency, frequency);
+        minLength = Math.min(minLength, length);
+        data = currentData;
+        skips = currentSkips;
+        // publish entry to readers
+        count = index + 1;
+    }
+
+    /**
+     * Get number of published entries. Count must be read before data and skips.
+     *
+     * @return number of elements containing the term
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Get the highest frequency of term in published elements. Frequency must be read after count.
+     *
+     * @return frequency of term
+     */
+    int maxFrequency() {
+        return maxFrequency;
+    }
+
+    /**
+     * Get the lowest length of published elements. Length must be read after count.
+     *
+     * @return number of terms
+     */
+    int minLength() {
+        return minLength;
+    }
+
+    byte[] data() {
+        return data;
+    }
+
+    int[] skips() {
+        return skips;
+    }
+
+    /**
+     * Get number of bytes taken by encoded entries and descriptions of blocks
+     *
+     * @return number of bytes
+     */
+    int encodedSize() {
+        return dataSize + (count + BLOCK_SIZE - 1) / BLOCK_SIZE * SKIP_STRIDE * 4;
+    }
+
+    private static int writeVarInt(byte[] data, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[offset++] = (byte) value;
+        return offset;
+    }
+
+}
@@ -0,0 +1,345 @@
+package com.mwronski.hateoas.repositories.search;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.SequenceTokens;
+import com.mwronski.hateoas.repositories.Slice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+
+/**
+ * Inverted index of text of messages (title and content) used for full-text search. <br/>
+ * Messages are split into terms and their positions are appended to compressed postings of terms when messages are created.
+ * Search returns messages containing any of searched terms ranked by BM25 score (ties are resolved by order of creation).
+ * Only the best messages are kept while searching and blocks of postings that can't reach scores of kept messages are skipped
+ * without decoding, so cost of search grows much slower than number of messages containing searched terms. <br/>
+ * Index has single writer (messages are added in order of their positions by the repository). Reads don't need any locks.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see TermPostings
+ */
+public final class TextIndex {
+
+    /**
+     * Maximum number of ranked messages that can be paged through
+     */
+    public static final int MAX_RESULTS = 1000;
+    /**
+     * Maximum number of distinct terms of single search
+     */
+    public static final int MAX_QUERY_TERMS = 16;
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+    private static final Comparator<Hit> WORST_FIRST = new Comparator<Hit>() {
+        @Override
+        public int compare(Hit first, Hit second) {
+            int result = Float.compare(first.score, second.score);
+            // earlier messages win ties
+            return result != 0 ? result : Integer.compare(second.position, first.position);
+        }
+    };
+
+    private final ConcurrentMap<String, TermPostings> postingsByTerm = new ConcurrentHashMap<String, TermPostings>();
+    private volatile int[][] lengths = new int[INITIAL_CHUNKS][];
+    private volatile long totalLength;
+    private volatile int size;
+
+    /**
+     * Split text of message into terms. Message can be split outside of any lock before it's added.
+     *
+     * @param message message to be indexed
+     * @return non-nullable terms of message
+     */
+    public static Terms termsOf(Message message) {
+        return new Terms(Tokenizer.frequencies(message.getTitle(), message.getContent()));
+    }
+
+    /**
+     * Add terms of message to index
+     *
+     * @param terms    terms of message
+     * @param position of message following position of message added before
+     */
+    public void add(Terms terms, int position) {
+        checkArgument(position == size, "Messages must be added in order: %s", position);
+        setLength(position, terms.length);
+        for (Map.Entry<String, Integer> term : terms.frequencies.entrySet()) {
+            TermPostings postings = postingsByTerm.get(term.getKey());
+            if (postings == null) {
+                postings = new TermPostings();
+                postings.add(position, term.getValue(), terms.length);
+                postingsByTerm.put(term.getKey(), postings);
+            } else {
+                postings.add(position, term.getValue(), terms.length);
+            }
+        }
+        totalLength += terms.length;
+        // publish message to readers
+        size = position + 1;
+    }
+
+    /**
+     * Find positions of messages that match searched text best
+     *
+     * @param text     searched text, messages containing any of its terms are found
+     * @param token    opaque token taken from previously returned slice. If not given the best messages are found.
+     * @param rowCount maximum number of positions to be returned
+     * @param size     number of messages that can be taken into account
+     * @return non-nullable slice with positions of found messages from the best one
+     * @throws IllegalArgumentException if text has no terms or too many terms, token is malformed or too many messages are paged through
+     */
+    public Slice<Integer> search(String text, String token, int rowCount, int size) {
+        Map<String, Integer> terms = Tokenizer.frequencies(text);
+        checkArgument(!terms.isEmpty(), "Searched text must have terms");
+        checkArgument(terms.size() <= MAX_QUERY_TERMS, "Searched text cannot have more than %s terms", MAX_QUERY_TERMS);
+        checkArgument(rowCount > 0, "Row count must be a positive number");
+        int offset = SequenceTokens.decode(token);
+        checkArgument(offset + rowCount <= MAX_RESULTS, "Cannot page through more than %s messages", MAX_RESULTS);
+        int published = this.size;
+        int indexed = Math.min(size, published);
+        Bm25 scoring = new Bm25(published == 0 ? 0 : (float) totalLength / published);
+        List<TermCursor> cursors = new ArrayList<TermCursor>(terms.size());
+        for (String term : terms.keySet()) {
+            TermPostings postings = postingsByTerm.get(term);
+            if (postings != null) {
+                TermCursor cursor = new TermCursor(postings, Bm25.idf(indexed, postings.count()));
+                cursor.next();
+                cursors.add(cursor);
+            }
+        }
+        // one more message is found to check whether next page exists
+        Hit[] hits = topHits(cursors.toArray(new TermCursor[cursors.size()]), scoring, offset + rowCount + 1, indexed);
+        tracer(this).debug("Searched messages - terms: %s, found: %d", terms.keySet(), hits.length);
+        List<Integer> positions = new ArrayList<Integer>(rowCount);
+        for (int i = offset; i < hits.length && positions.size() < rowCount; i++) {
+            positions.add(hits[i].position);
+        }
+        String previousToken = offset > 0 ? SequenceTokens.encode(Math.max(0, offset - rowCount)) : null;
+        int next = offset + rowCount;
+        String nextToken = hits.length > next && next < MAX_RESULTS ? SequenceTokens.encode(next) : null;
+        return new Slice<Integer>(positions, previousToken, nextToken);
+    }
+
+    /**
+     * Get number of indexed messages
+     *
+     * @return number of messages
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get number of distinct terms
+     *
+     * @return number of terms
+     */
+    public int terms() {
+        return postingsByTerm.size();
+    }
+
+    /**
+     * Get number of bytes taken by compressed postings of all terms
+     *
+     * @return approximate number of bytes
+     */
+    public long postingsBytes() {
+        long bytes = 0;
+        for (TermPostings postings : postingsByTerm.values()) {
+            bytes += postings.encodedSize();
+        }
+        return bytes;
+    }
+
+    /**
+     * Find the best messages (MaxScore with block-max skipping). Cursors are ordered by the highest scores they can give.
+     * When the best messages are known, cursors that together can't reach score of the worst of them are non-essential:
+     * only essential cursors propose messages and non-essential ones are advanced to proposed messages while their scores
+     * can still matter. Messages up to the nearest end of block of essential cursors are skipped if scores bounded
+     * using descriptions of blocks can't replace any of the best messages.
+     *
+     * @param cursors cursors of searched terms placed at their first entries
+     * @param scoring parameters of scoring
+     * @param count   number of messages to be found
+     * @param size    number of messages that can be taken into account
+     * @return non-nullable array of found messages from the best one
+     */
+    private Hit[] topHits(final TermCursor[] cursors, final Bm25 scoring, int count, int size) {
+        Arrays.sort(cursors, new Comparator<TermCursor>() {
+            @Override
+            public int compare(TermCursor first, TermCursor second) {
+                return Float.compare(first.maxScore(scoring), second.maxScore(scoring));
+            }
+        });
+        // the highest scores of cursors up to chosen one
+        float[] maxScores = new float[cursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            maxScores[i] = (i > 0 ? maxScores[i - 1] : 0) + cursors[i].maxScore(scoring);
+        }
+        PriorityQueue<Hit> best = new PriorityQueue<Hit>(count, WORST_FIRST);
+        float threshold = -1;
+        int essential = 0;
+        while (essential < cursors.length) {
+            int position = TermCursor.END;
+            for (int i = essential; i < cursors.length; i++) {
+                position = Math.min(position, cursors[i].position());
+            }
+            if (position >= size) {
+                break;
+            }
+            float nonEssentialScore = essential > 0 ? maxScores[essential - 1] : 0;
+            if (best.size() == count && skipBlocks(cursors, essential, scoring, threshold - nonEssentialScore)) {
+                continue;
+            }
+            float score = 0;
+            int length = lengthOf(position);
+            for (int i = essential; i < cursors.length; i++) {
+                if (cursors[i].position() == position) {
+                    score += cursors[i].score(scoring, length);
+                    cursors[i].next();
+                }
+            }
+            if (essential > 0 && score + blockMaxScore(cursors, essential, position, scoring) > threshold) {
+                for (int i = essential - 1; i >= 0 && score + maxScores[i] > threshold; i--) {
+                    if (cursors[i].advance(position) == position) {
+                        score += cursors[i].score(scoring, length);
+                    }
+                }
+            }
+            if (best.size() < count) {
+                best.add(new Hit(position, score));
+            } else if (score > threshold) {
+                best.poll();
+                best.add(new Hit(position, score));
+            }
+            if (best.size() == count) {
+                threshold = best.peek().score;
+                while (essential < cursors.length && maxScores[essential] <= threshold) {
+                    essential++;
+                }
+            }
+        }
+        Hit[] hits = best.toArray(new Hit[best.size()]);
+        Arrays.sort(hits, Collections.reverseOrder(WORST_FIRST));
+        return hits;
+    }
+
+    /**
+     * Bound score that can be given to message by non-essential cursors using descriptions of their blocks
+     *
+     * @param cursors   cursors of searched terms
+     * @param essential index of the first essential cursor
+     * @param position  position of message
+     * @param scoring   parameters of scoring
+     * @return upper bound of score
+     */
+    private static float blockMaxScore(TermCursor[] cursors, int essential, int position, Bm25 scoring) {
+        float maxScore = 0;
+        for (int i = 0; i < essential; i++) {
+            maxScore += cursors[i].blockMaxScore(position, scoring);
+        }
+        return maxScore;
+    }
+
+    /**
+     * Skip messages up to the nearest end of block of essential cursors if they can't reach given score
+     *
+     * @param cursors   cursors of searched terms
+     * @param essential index of the first essential cursor
+     * @param scoring   parameters of scoring
+     * @param threshold score that must be exceeded by essential cursors
+     * @return true if messages were skipped
+     */
+    private static boolean skipBlocks(TermCursor[] cursors, int essential, Bm25 scoring, float threshold) {
+        int boundary = TermCursor.END;
+        for (int i = essential; i < cursors.length; i++) {
+            if (cursors[i].position() != TermCursor.END) {
+                boundary = Math.min(boundary, cursors[i].blockLast());
+            }
+        }
+        float maxScore = 0;
+        for (int i = essential; i < cursors.length; i++) {
+            if (cursors[i].position() <= boundary) {
+                maxScore += cursors[i].blockMaxScore(scoring);
+            }
+        }
+        if (maxScore > threshold) {
+            return false;
+        }
+        for (int i = essential; i < cursors.length; i++) {
+            TermCursor cursor = cursors[i];
+            if (cursor.position() <= boundary) {
+                if (cursor.blockLast() == boundary) {
+                    cursor.skipBlock();
+                } else {
+                    cursor.advance(boundary + 1);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void setLength(int position, int length) {
+        int[][] current = lengths;
+        int chunk = position >>> CHUNK_BITS;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new int[CHUNK_SIZE];
+        }
+        current[chunk][position & CHUNK_MASK] = length;
+        lengths = current;
+    }
+
+    private int lengthOf(int position) {
+        return lengths[position >>> CHUNK_BITS][position & CHUNK_MASK];
+    }
+
+    /**
+     * Terms of single message with their frequencies
+     */
+    public static final class Terms {
+
+        private final Map<String, Integer> frequencies;
+        private final int length;
+
+        private Terms(Map<String, Integer> frequencies) {
+            int length = 0;
+            for (int frequency : frequencies.values()) {
+                length += frequency;
+            }
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Scored message
+     */
+    private static final class Hit {
+
+        private final int position;
+        private final float score;
+
+        Hit(int position, float score) {
+            this.position = position;
+            this.score = score;
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.mwronski.hateoas.repositories.search;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits text into terms. Terms are sequences of letters and digits converted to lower case,
+ * terms longer than limit are cut. Common English words are skipped, since they occur in most of messages
+ * and would only make searching slower without changing order of results much.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see TextIndex
+ */
+final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 64;
+    static final Set<String> STOP_WORDS = ImmutableSet.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    /**
+     * Count occurrences of terms in given texts
+     *
+     * @param texts optional texts
+     * @return non-nullable map of terms to their frequencies in order of first occurrence
+     */
+    static Map<String, Integer> frequencies(String... texts) {
+        Map<String, Integer> frequencies = new LinkedHashMap<String, Integer>();
+        StringBuilder term = new StringBuilder(MAX_TERM_LENGTH);
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0, length = text.length(); i <= length; i++) {
+                char c = i < length ? text.charAt(i) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    if (term.length() < MAX_TERM_LENGTH) {
+                        term.append(Character.toLowerCase(c));
+                    }
+                } else if (term.length() > 0) {
+                    String found = term.toString();
+                    if (!STOP_WORDS.contains(found)) {
+                        Integer frequency = frequencies.get(found);
+                        frequencies.put(found, frequency == null ? 1 : frequency + 1);
+                    }
+                    term.setLength(0);
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    private Tokenizer() {
+        //no instances
+    }
+}
@@ -0,0 +1,116 @@
+package com.mwronski.hateoas.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.mwronski.hateoas.log.Tracer.tracer;
+
+/**
+ * Configuration of asynchronous handling of requests by services. <br/>
+ * Services return their work as callables which are executed by dedicated executor (property messages.async.enabled),
+ * so container threads are released while repository is accessed and response is prepared. Pool of executor is limited by
+ * property messages.async.poolSize and requests wait in queue limited by property messages.async.queueCapacity.
+ * When the queue is full the request is handled by container thread that received it, as it's done in synchronous mode. <br/>
+ * Callables are executed by container threads directly when asynchronous mode is disabled. <br/>
+ * Executor starts new virtual thread for each request instead of using pool when services run on virtual threads
+ * (property messages.threads).
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.services.ReadService
+ */
+@Configuration
+public class AsyncConfiguration extends WebMvcConfigurerAdapter {
+
+    private static final String THREAD_NAME_PREFIX = "messages-service-";
+
+    @Value("${messages.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${messages.async.poolSize:100}")
+    private int poolSize;
+
+    @Value("${messages.async.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${messages.async.timeout:30000}")
+    private long timeout;
+
+    @Value("${messages.threads:PLATFORM}")
+    private ThreadMode threadMode;
+
+    @Bean(name = "serviceExecutor")
+    public AsyncTaskExecutor serviceExecutor() {
+        if (!enabled) {
+            return new TaskExecutorAdapter(new SyncTaskExecutor());
+        }
+        if (threadMode == ThreadMode.VIRTUAL) {
+            tracer(this).info("Services run on virtual threads");
+            return new TaskExecutorAdapter(ThreadMode.newVirtualThreadPerTaskExecutor());
+        }
+        tracer(this).info("Services run on dedicated executor - poolSize: %d, queueCapacity: %d", poolSize, queueCapacity);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(serviceExecutor());
+        configurer.setDefaultTimeout(timeout);
+        configurer.registerCallableInterceptors(new RequestBinding());
+    }
+
+    /**
+     * Binds request to the thread executing callable of service, so links can be built from current request.
+     * Request already bound to the thread (synchronous mode) is left untouched.
+     */
+    private static final class RequestBinding extends CallableProcessingInterceptorAdapter {
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) throws Exception {
+            if (RequestContextHolder.getRequestAttributes() == null) {
+                RequestContextHolder.setRequestAttributes(new ExecutorRequestAttributes(request.getNativeRequest(HttpServletRequest.class)));
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) throws Exception {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ExecutorRequestAttributes) {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+    }
+
+    /**
+     * Attributes of request bound to the thread of executor
+     */
+    private static final class ExecutorRequestAttributes extends ServletRequestAttributes {
+
+        ExecutorRequestAttributes(HttpServletRequest request) {
+            super(request);
+        }
+    }
+
+}
@@ -0,0 +1,356 @@
+package com.mwronski.hateoas.services;
+
+import com.google.common.base.Joiner;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/**
+ * Factory of links pointing at read services. <br/>
+ * URI templates are resolved from mappings of service once and base URI is resolved once per request,
+ * so building of link requires only string operations (no proxies, reflection or parsing of URIs).
+ * Created links are the same as links created by ControllerLinkBuilder.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see org.springframework.hateoas.mvc.ControllerLinkBuilder
+ */
+final class LinkFactory {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkFactory.class.getName() + ".baseUri";
+    private static final int MAX_CACHED_BASE_URIS = 16;
+    private static final Joiner VALUES_JOINER = Joiner.on(',').skipNulls();
+
+    private final Class<?> controller;
+    private final Template element;
+    private final Template page;
+    private final Template cursor;
+    private final Template bulk;
+    private final Template query;
+    private final Template search;
+    private final ConcurrentMap<String, Prefixes> prefixesByBaseUri = new ConcurrentHashMap<String, Prefixes>();
+
+    /**
+     * Create factory
+     *
+     * @param controller class of service with mappings of read operations
+     */
+    LinkFactory(Class<?> controller) {
+        this.controller = controller;
+        this.element = new Template(mapping(controller, "find"));
+        this.page = new Template(mapping(controller, "get"));
+        this.cursor = new Template(mapping(controller, "scroll"));
+        this.bulk = new Template(mapping(controller, "getBulk"));
+        this.query = optionalTemplate(controller, "query");
+        this.search = optionalTemplate(controller, "search");
+    }
+
+    /**
+     * Create link pointing at single element
+     *
+     * @param id of element
+     * @return non-nullable self link
+     */
+    Link element(String id) {
+        return new Link(prefixes().element + id + element.suffix);
+    }
+
+    /**
+     * Create link pointing at page of elements
+     *
+     * @param pageNumber    number of page
+     * @param size          optional size of page
+     * @param includeFields optional fields included in results
+     * @param rel           relation of link
+     * @return non-nullable link
+     */
+    Link page(int pageNumber, Integer size, String[] includeFields, String rel) {
+        StringBuilder href = new StringBuilder(prefixes().page).append(pageNumber).append(page.suffix);
+        Query query = new Query(href);
+        query.add("size", size);
+        query.add("includeFields", includeFields);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Create link pointing at elements following given cursor
+     *
+     * @param token         optional continuation token
+     * @param size          optional number of elements
+     * @param includeFields optional fields included in results
+     * @param rel           relation of link
+     * @return non-nullable link
+     */
+    Link cursor(String token, Integer size, String[] includeFields, String rel) {
+        StringBuilder href = new StringBuilder(prefixes().cursor);
+        Query query = new Query(href);
+        query.add("cursor", token);
+        query.add("size", size);
+        query.add("includeFields", includeFields);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Create link pointing at elements taken in bulk
+     *
+     * @param ids           optional IDs of elements
+     * @param fromPage      optional first page of range
+     * @param toPage        optional last page of range
+     * @param size          optional size of page
+     * @param includeFields optional fields included in results
+     * @param rel           relation of link
+     * @return non-nullable link
+     */
+    Link bulk(String[] ids, Integer fromPage, Integer toPage, Integer size, String[] includeFields, String rel) {
+        StringBuilder href = new StringBuilder(prefixes().bulk);
+        Query query = new Query(href);
+        query.add("ids", ids);
+        query.add("fromPage", fromPage);
+        query.add("toPage", toPage);
+        query.add("size", size);
+        query.add("includeFields", includeFields);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Create link pointing at elements meeting criteria
+     *
+     * @param sender        optional sender of elements
+     * @param titlePrefix   optional beginning of title of elements
+     * @param token         optional continuation token
+     * @param size          optional number of elements
+     * @param includeFields optional fields included in results
+     * @param rel           relation of link
+     * @return non-nullable link
+     * @throws IllegalStateException if service doesn't support queries
+     */
+    Link query(String sender, String titlePrefix, String token, Integer size, String[] includeFields, String rel) {
+        Prefixes prefixes = prefixes();
+        checkState(prefixes.query != null, "Queries not supported by: %s", controller);
+        StringBuilder href = new StringBuilder(prefixes.query);
+        Query query = new Query(href);
+        query.add("sender", sender);
+        query.add("titlePrefix", titlePrefix);
+        query.add("cursor", token);
+        query.add("size", size);
+        query.add("includeFields", includeFields);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Create link pointing at elements found by full-text search
+     *
+     * @param text          searched text
+     * @param token         optional continuation token
+     * @param size          optional number of elements
+     * @param includeFields optional fields included in results
+     * @param rel           relation of link
+     * @return non-nullable link
+     * @throws IllegalStateException if service doesn't support search
+     */
+    Link search(String text, String token, Integer size, String[] includeFields, String rel) {
+        Prefixes prefixes = prefixes();
+        checkState(prefixes.search != null, "Search not supported by: %s", controller);
+        StringBuilder href = new StringBuilder(prefixes.search);
+        Query query = new Query(href);
+        query.add("q", text);
+        query.add("cursor", token);
+        query.add("size", size);
+        query.add("includeFields", includeFields);
+        return new Link(href.toString(), rel);
+    }
+
+    /**
+     * Get base URI of links created for current request
+     *
+     * @return non-nullable URI without trailing slash
+     */
+    String baseUri() {
+        return currentBaseUri();
+    }
+
+    /**
+     * Get prefixes of links for base URI of current request
+     *
+     * @return non-nullable instance
+     */
+    private Prefixes prefixes() {
+        String baseUri = currentBaseUri();
+        Prefixes prefixes = prefixesByBaseUri.get(baseUri);
+        if (prefixes == null) {
+            prefixes = new Prefixes(baseUri);
+            if (prefixesByBaseUri.size() < MAX_CACHED_BASE_URIS) {
+                // base URIs depend on headers sent by clients so number of cached ones is limited
+                prefixesByBaseUri.putIfAbsent(baseUri, prefixes);
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Get base URI of current request. URI is resolved once per request.
+     *
+     * @return non-nullable URI without trailing slash
+     */
+    private String currentBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = linkTo(controller).toString();
+            if (baseUri.endsWith("/")) {
+                baseUri = baseUri.substring(0, baseUri.length() - 1);
+            }
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    /**
+     * Get mapping of chosen method of service including mapping of service itself
+     *
+     * @param controller class of service
+     * @param methodName name of method mapped to requests
+     * @return non-nullable mapping
+     */
+    private static String mapping(Class<?> controller, String methodName) {
+        String mapping = findMapping(controller, methodName);
+        if (mapping == null) {
+            throw new IllegalArgumentException("Mapping not found for method: " + methodName);
+        }
+        return mapping;
+    }
+
+    /**
+     * Get template of chosen method of service if service has such method
+     *
+     * @param controller class of service
+     * @param methodName name of method mapped to requests
+     * @return template or null if service doesn't have such method
+     */
+    private static Template optionalTemplate(Class<?> controller, String methodName) {
+        String mapping = findMapping(controller, methodName);
+        return mapping == null ? null : new Template(mapping);
+    }
+
+    /**
+     * Find mapping of chosen method of service including mapping of service itself
+     *
+     * @param controller class of service
+     * @param methodName name of method mapped to requests
+     * @return mapping or null if service doesn't have such method
+     */
+    private static String findMapping(Class<?> controller, String methodName) {
+        for (Method method : controller.getMethods()) {
+            RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+            if (method.getName().equals(methodName) && mapping != null && mapping.value().length > 0) {
+                RequestMapping typeMapping = controller.getAnnotation(RequestMapping.class);
+                String typePath = typeMapping == null || typeMapping.value().length == 0 ? null : typeMapping.value()[0];
+                return typePath == null || "/".equals(typePath) ? mapping.value()[0] : typePath + mapping.value()[0];
+            }
+        }
+        return null;
+    }
+
+    private static String encode(String value) {
+        try {
+            return value == null ? null : UriUtils.encodeQueryParam(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * URI template with at most one variable split into parts placed before and after the variable
+     */
+    private static final class Template {
+
+        private final String prefix;
+        private final String suffix;
+
+        Template(String mapping) {
+            int start = mapping.indexOf('{');
+            if (start < 0) {
+                prefix = mapping;
+                suffix = "";
+            } else {
+                int end = mapping.indexOf('}', start);
+                checkArgument(end > start && mapping.indexOf('{', end) < 0, "Unsupported template: %s", mapping);
+                prefix = mapping.substring(0, start);
+                suffix = mapping.substring(end + 1);
+            }
+        }
+    }
+
+    /**
+     * Templates expanded with base URI
+     */
+    private final class Prefixes {
+
+        private final String element;
+        private final String page;
+        private final String cursor;
+        private final String bulk;
+        private final String query;
+        private final String search;
+
+        Prefixes(String baseUri) {
+            this.element = baseUri + LinkFactory.this.element.prefix;
+            this.page = baseUri + LinkFactory.this.page.prefix;
+            this.cursor = baseUri + LinkFactory.this.cursor.prefix + LinkFactory.this.cursor.suffix;
+            this.bulk = baseUri + LinkFactory.this.bulk.prefix + LinkFactory.this.bulk.suffix;
+            this.query = optionalPrefix(baseUri, LinkFactory.this.query);
+            this.search = optionalPrefix(baseUri, LinkFactory.this.search);
+        }
+
+        private String optionalPrefix(String baseUri, Template template) {
+            return template == null ? null : baseUri + template.prefix + template.suffix;
+        }
+    }
+
+    /**
+     * Query part of link. Parameters without values are skipped, multiple values are separated with comma.
+     * Values are encoded (each of multiple values separately), so values sent by clients can't add parameters.
+     */
+    private static final class Query {
+
+        private final StringBuilder href;
+        private boolean first = true;
+
+        Query(StringBuilder href) {
+            this.href = href;
+        }
+
+        void add(String name, Object value) {
+            if (value != null) {
+                append(name, encode(value.toString()));
+            }
+        }
+
+        void add(String name, String[] values) {
+            if (values != null) {
+                String[] encoded = new String[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    encoded[i] = encode(values[i]);
+                }
+                append(name, VALUES_JOINER.join(encoded));
+            }
+        }
+
+        private void append(String name, String encodedValue) {
+            href.append(first ? '?' : '&').append(name).append('=').append(encodedValue);
+            first = false;
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mwronski.hateoas.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mwronski.hateoas.model.BatchError;
+import com.mwronski.hateoas.model.Message;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.model.builder.Builders.message;
+
+/**
+ * Messages read from body of batch request. Body is either JSON array of messages
+ * or NDJSON (message per line). Body is parsed while it's read, so whole text of the batch is never kept in memory. <br/>
+ * Elements that aren't valid messages are reported as errors with their position in the batch
+ * and don't prevent creation of the rest of messages. Malformed JSON array can't be split into elements,
+ * so whole batch is rejected then; malformed line of NDJSON is reported as error of single element.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.Repository#createAll(java.util.List)
+ */
+public final class MessageBatch {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+
+    private final List<Message> messages = new ArrayList<Message>();
+    private final List<BatchError> errors = new ArrayList<BatchError>();
+    private final String sender;
+    private final boolean withContent;
+    private final int maxSize;
+    private int size;
+
+    private MessageBatch(String sender, boolean withContent, int maxSize) {
+        this.sender = sender;
+        this.withContent = withContent;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Read messages from body of batch request
+     *
+     * @param body        body of request
+     * @param ndjson      true if body is NDJSON read line by line, JSON array otherwise
+     * @param sender      sender of all messages
+     * @param withContent true if content of messages should be read, only title is read otherwise
+     * @param maxSize     maximum number of elements of batch
+     * @return non-nullable batch
+     * @throws IOException if body couldn't be read or isn't JSON array
+     */
+    public static MessageBatch read(InputStream body, boolean ndjson, String sender, boolean withContent, int maxSize)
+            throws IOException {
+        MessageBatch batch = new MessageBatch(sender, withContent, maxSize);
+        if (ndjson) {
+            batch.readLines(body);
+        } else {
+            batch.readArray(body);
+        }
+        checkArgument(batch.size > 0, "Batch must contain messages");
+        return batch;
+    }
+
+    /**
+     * Get valid messages in order of the batch
+     *
+     * @return non-nullable list
+     */
+    public List<Message> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Get errors of elements that aren't valid messages
+     *
+     * @return non-nullable list
+     */
+    public List<BatchError> getErrors() {
+        return errors;
+    }
+
+    private void readArray(InputStream body) throws IOException {
+        JsonParser parser = JSON_MAPPER.getFactory().createParser(body);
+        try {
+            checkArgument(parser.nextToken() == JsonToken.START_ARRAY, "Batch must be JSON array of messages");
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                checkArgument(token != null, "Batch must be complete JSON array");
+                add(JSON_MAPPER.readValue(parser, JsonNode.class));
+            }
+        } finally {
+            parser.close();
+        }
+    }
+
+    private void readLines(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, "UTF-8"));
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode element;
+            try {
+                element = JSON_MAPPER.readTree(line);
+            } catch (JsonProcessingException e) {
+                checkSize();
+                errors.add(new BatchError(size++, "Malformed JSON"));
+                continue;
+            }
+            add(element);
+        }
+    }
+
+    private void add(JsonNode element) {
+        checkSize();
+        int index = size++;
+        if (element == null || !element.isObject()) {
+            errors.add(new BatchError(index, "Message must be JSON object"));
+            return;
+        }
+        JsonNode title = element.get(FIELD_TITLE);
+        if (title == null || !title.isTextual() || title.asText().isEmpty()) {
+            errors.add(new BatchError(index, "Title must be given"));
+            return;
+        }
+        JsonNode content = withContent ? element.get(FIELD_CONTENT) : null;
+        if (content != null && !content.isNull() && !content.isTextual()) {
+            errors.add(new BatchError(index, "Content must be text"));
+            return;
+        }
+        messages.add(message()
+                .withTitle(title.asText())
+                .withContent(content == null || content.isNull() ? null : content.asText())
+                .withSender(sender)
+                .build());
+    }
+
+    private void checkSize() {
+        checkArgument(size < maxSize, "Number of messages cannot exceed %s", maxSize);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.mwronski.hateoas.services;
+
+import com.mwronski.hateoas.metrics.Metric;
+import com.mwronski.hateoas.metrics.MetricSnapshot;
+import com.mwronski.hateoas.metrics.Metrics;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service exposing metrics of the application (actuator style). Metrics are recorded when they're enabled
+ * (property metrics.enabled), otherwise values recorded so far (if any) are returned.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see Metrics
+ */
+@RestController
+public class MetricsService {
+
+    /**
+     * Get distributions of all values recorded since the application started
+     *
+     * @return snapshots of metrics sorted by their names
+     */
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = "application/json")
+    public Map<String, MetricSnapshot> metrics() {
+        Map<String, MetricSnapshot> snapshots = new LinkedHashMap<String, MetricSnapshot>();
+        for (Map.Entry<String, Metric> entry : Metrics.all().entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().total());
+        }
+        return snapshots;
+    }
+
+}
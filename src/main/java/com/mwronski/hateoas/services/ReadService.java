@@ -1,27 +1,66 @@
 package com.mwronski.hateoas.services;
 
-import com.mwronski.hateoas.model.Message;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ObjectArrays;
+import com.mwronski.hateoas.metrics.Metric;
+import com.mwronski.hateoas.metrics.Metrics;
+import com.mwronski.hateoas.model.BatchError;
+import com.mwronski.hateoas.model.BatchResources;
 import com.mwronski.hateoas.model.ResourceEntity;
 import com.mwronski.hateoas.model.Resources;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.Slice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.mwronski.hateoas.log.Tracer.tracer;
 import static com.mwronski.hateoas.services.ServiceUtils.*;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
 /**
  * Basic service that provided read access to elements of chosen type.
- * Service supports pageable access on elements.
+ * Service supports pageable access on elements. <br/>
+ * Besides page numbers elements can be read using continuation tokens (cursors)
+ * so deep pages are not read using offsets. <br/>
+ * Clients may choose size of page which is limited by configured maximum (property messages.page.maxSize).
+ * Many pages or elements with chosen IDs can be taken at once using bulk access
+ * limited by property messages.bulk.maxSize. Services creating elements in batches
+ * limit size of batch by property messages.batch.maxSize. <br/>
+ * All elements can be exported using streaming access which writes elements one by one
+ * directly into the response (JSON only). <br/>
+ * Elements and pages are tagged (ETag) so clients can use conditional requests (If-None-Match).
+ * Elements never change once created thus their tags depend only on ID, version of service and representation.
+ * Tags of pages depend on the window of elements that is displayed on the page and its representation.
+ * Conditions are evaluated only for existing elements and pages, unknown elements aren't found (404).
+ * Responses vary by accepted type. <br/>
+ * Encoded elements and pages can be cached (see ResponseCache), cached page is rendered again only when its window changes. <br/>
+ * Operations are returned as callables executed by executor of services (see AsyncConfiguration)
+ * so container threads don't wait for the repository. Streaming writes into the response directly thus it's synchronous.
  *
  * @param <T> type of element supported by service
  * @author Michal Wronski
@@ -32,44 +71,254 @@ import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 public abstract class ReadService<T extends ResourceEntity> {
 
     protected static final int DEFAULT_PAGE_SIZE = 10;
+    protected static final int DEFAULT_MAX_PAGE_SIZE = 100;
+    protected static final int DEFAULT_MAX_BULK_SIZE = 1000;
+    protected static final int DEFAULT_MAX_BATCH_SIZE = 10000;
+    protected static final String STREAM_FORMAT_NDJSON = "ndjson";
+    protected static final String STREAM_FORMAT_HAL = "hal";
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String ACCEPT = "Accept";
+    private static final String VARY = "Vary";
+    private static final String ACCEPT_ALL = "*/*";
+    private static final String[] REPRESENTATIONS = {"+json", "+xml"};
+    private static final String CACHED_ELEMENT = "element";
+    private static final String CACHED_PAGE = "page";
+    private static final String[] NO_FIELDS = new String[0];
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper().writer();
+    private static final Metric ELEMENT_LINKS = Metrics.metric("service.links.elements", Metric.Unit.MICROSECONDS);
+    private static final Metric NAVIGATION_LINKS = Metrics.metric("service.links.navigation", Metric.Unit.MICROSECONDS);
+
+    private final LinkFactory links = new LinkFactory(ClassUtils.getUserClass(getClass()));
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Value("${messages.page.maxSize:" + DEFAULT_MAX_PAGE_SIZE + "}")
+    private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+    @Value("${messages.bulk.maxSize:" + DEFAULT_MAX_BULK_SIZE + "}")
+    private int maxBulkSize = DEFAULT_MAX_BULK_SIZE;
+    @Value("${messages.batch.maxSize:" + DEFAULT_MAX_BATCH_SIZE + "}")
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
 
     /**
      * Find chosen element
      *
-     * @param id of element to be found
-     * @return found instance, null otherwise
+     * @param id          of element to be found
+     * @param ifNoneMatch optional entity tag of element already known by the client
+     * @return found instance, not found status otherwise
      */
     @RequestMapping(value = "/message/{id}", method = RequestMethod.GET)
     @ResponseBody
-    public HttpEntity<T> find(@PathVariable String id) {
-        tracer(this).info("Find element - id: %s", id);
-        T element = getRepository().find(id);
-        addSelfLink(element);
-        return new ResponseEntity<T>(element, HttpStatus.OK);
+    public Callable<HttpEntity<?>> find(
+            @PathVariable final String id,
+            @RequestHeader(value = IF_NONE_MATCH, required = false) final String ifNoneMatch
+    ) {
+        return new Callable<HttpEntity<?>>() {
+            @Override
+            public HttpEntity<?> call() {
+                tracer(ReadService.this).info("Find element - id: %s", id);
+                HttpHeaders headers = new HttpHeaders();
+                headers.add(VARY, ACCEPT);
+                // condition is evaluated for existing elements only
+                final T element = getRepository().find(id, Projection.ALL);
+                if (element == null) {
+                    return new ResponseEntity<T>(headers, HttpStatus.NOT_FOUND);
+                }
+                MediaType type = getProducedType();
+                headers.setETag(strongETag(getVendorType(), type, id));
+                if (isNotModified(ifNoneMatch, headers.getETag())) {
+                    return new ResponseEntity<T>(headers, HttpStatus.NOT_MODIFIED);
+                }
+                Supplier<T> renderer = new Supplier<T>() {
+                    @Override
+                    public T get() {
+                        addSelfLink(element);
+                        return element;
+                    }
+                };
+                // elements never change so their version is constant
+                return respond(headers, cacheKey(type, CACHED_ELEMENT, id), 0, renderer);
+            }
+        };
     }
 
     /**
      * Get elements
      *
      * @param pageNumber    number of page with elements to be displayed
+     * @param size          optional number of elements displayed on single page
+     * @param ifNoneMatch   optional entity tag of page already known by the client
      * @param includeFields fields to be included in results (optional - may not be supported by each version of service)
      * @return non-nullable instance of resources with found elements
      */
     @RequestMapping(value = "/messages/{pageNumber}", method = RequestMethod.GET)
     @ResponseBody
-    public HttpEntity<Resources<T>> get(
-            @PathVariable int pageNumber,
+    public Callable<HttpEntity<?>> get(
+            @PathVariable final int pageNumber,
+            @RequestParam(required = false) final Integer size,
+            @RequestHeader(value = IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestParam(required = false) final String... includeFields
+    ) {
+        return new Callable<HttpEntity<?>>() {
+            @Override
+            public HttpEntity<?> call() {
+                tracer(ReadService.this).info("Getting elements - pageNumber: %d, size: %s", pageNumber, size);
+                //TODO return HTTP error instead of exception
+                checkArgument(pageNumber > 0, "Page number must be a positive number");
+                final int pageSize = getPageSize(size);
+                final int startIndex = pageToIndex(pageNumber, pageSize);
+                final int count = getRepository().size();
+                long visibleCount = getVisibleCount(startIndex, pageSize, count);
+                HttpHeaders headers = new HttpHeaders();
+                headers.add(VARY, ACCEPT);
+                MediaType type = getProducedType();
+                headers.setETag(getPageETag(type, startIndex, pageSize, visibleCount, includeFields));
+                // condition is evaluated for existing pages only (the first page exists even if it's empty)
+                boolean exists = pageNumber == 1 || startIndex < count;
+                if (exists && isNotModified(ifNoneMatch, headers.getETag())) {
+                    return new ResponseEntity<Resources<T>>(headers, HttpStatus.NOT_MODIFIED);
+                }
+                Supplier<Resources<T>> page = new Supplier<Resources<T>>() {
+                    @Override
+                    public Resources<T> get() {
+                        Resources<T> elements = new Resources<T>();
+                        elements.add(findElements(startIndex, pageSize, includeFields));
+                        addSelfLinks(elements);
+                        addPagingLinks(elements, pageNumber, pageSize, count, includeFields);
+                        return elements;
+                    }
+                };
+                // page changes only when its window changes
+                return respond(headers, cacheKey(type, CACHED_PAGE, pageNumber, pageSize, includeFields), visibleCount, page);
+            }
+        };
+    }
+
+    /**
+     * Get many elements at once. Elements are chosen either by their IDs or by range of pages.
+     *
+     * @param ids           IDs of elements to be returned
+     * @param fromPage      number of first page with elements to be returned (used when IDs are not given)
+     * @param toPage        number of last page with elements to be returned (used when IDs are not given)
+     * @param size          optional number of elements displayed on single page
+     * @param includeFields fields to be included in results (optional - may not be supported by each version of service)
+     * @return non-nullable instance of resources with found elements
+     */
+    @RequestMapping(value = "/messages/bulk", method = RequestMethod.GET)
+    @ResponseBody
+    public Callable<HttpEntity<Resources<T>>> getBulk(
+            @RequestParam(required = false) final String[] ids,
+            @RequestParam(required = false) final Integer fromPage,
+            @RequestParam(required = false) final Integer toPage,
+            @RequestParam(required = false) final Integer size,
+            @RequestParam(required = false) final String... includeFields
+    ) {
+        return new Callable<HttpEntity<Resources<T>>>() {
+            @Override
+            public HttpEntity<Resources<T>> call() {
+                Resources<T> elements = new Resources<T>();
+                if (ids != null && ids.length > 0) {
+                    tracer(ReadService.this).info("Getting elements in bulk - ids: %d", ids.length);
+                    checkArgument(ids.length <= maxBulkSize, "Number of IDs cannot exceed %s", maxBulkSize);
+                    elements.add(findElements(Arrays.asList(ids), includeFields));
+                    addSelfLinks(elements);
+                    elements.add(links.bulk(ids, null, null, null, includeFields, Link.REL_SELF));
+                } else {
+                    tracer(ReadService.this).info("Getting elements in bulk - fromPage: %s, toPage: %s, size: %s", fromPage, toPage, size);
+                    checkArgument(fromPage != null && toPage != null, "IDs or range of pages must be given");
+                    checkArgument(fromPage > 0 && toPage >= fromPage, "Invalid range of pages");
+                    int pageSize = getPageSize(size);
+                    int pages = toPage - fromPage + 1;
+                    checkArgument((long) pages * pageSize <= maxBulkSize, "Number of elements cannot exceed %s", maxBulkSize);
+                    elements.add(findElements(pageToIndex(fromPage, pageSize), pages * pageSize, includeFields));
+                    addSelfLinks(elements);
+                    addBulkLinks(elements, fromPage, toPage, pageSize, getRepository().size(), includeFields);
+                }
+                return new ResponseEntity<Resources<T>>(elements, HttpStatus.OK);
+            }
+        };
+    }
+
+    /**
+     * Stream all elements directly into the response. Elements are read from repository
+     * and written one by one so memory usage doesn't depend on number of elements.
+     *
+     * @param format        format of the stream: ndjson (element per line) or hal (single collection written in chunks)
+     * @param response      where elements should be written
+     * @param includeFields fields to be included in results (optional - may not be supported by each version of service)
+     * @throws IOException when elements couldn't be written
+     */
+    @RequestMapping(value = "/messages/stream", method = RequestMethod.GET)
+    public void stream(
+            @RequestParam(required = false, defaultValue = STREAM_FORMAT_NDJSON) String format,
+            HttpServletResponse response,
             @RequestParam(required = false) String... includeFields
+    ) throws IOException {
+        tracer(this).info("Streaming elements - format: %s", format);
+        boolean hal = STREAM_FORMAT_HAL.equals(format);
+        checkArgument(hal || STREAM_FORMAT_NDJSON.equals(format), "Unsupported format of stream: %s", format);
+        response.setContentType(hal ? getVendorType() + "+json" : MEDIA_TYPE_NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        if (hal) {
+            out.write("{\"resources\":[".getBytes("UTF-8"));
+        }
+        int count = 0;
+        Iterator<T> elements = iterateElements(includeFields);
+        while (elements.hasNext()) {
+            T element = elements.next();
+            addSelfLink(element);
+            if (hal && count > 0) {
+                out.write(',');
+            }
+            out.write(JSON_WRITER.writeValueAsBytes(element));
+            if (!hal) {
+                out.write('\n');
+            }
+            if (++count % STREAM_FLUSH_INTERVAL == 0) {
+                out.flush();
+            }
+        }
+        if (hal) {
+            Link self = new Link(ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString());
+            out.write("],\"links\":[".getBytes("UTF-8"));
+            out.write(JSON_WRITER.writeValueAsBytes(self));
+            out.write("]}".getBytes("UTF-8"));
+        }
+        out.flush();
+        tracer(this).debug("Streamed elements: %d", count);
+    }
+
+    /**
+     * Get elements following given cursor
+     *
+     * @param cursor        continuation token taken from links of previous response. If not given first elements are returned.
+     * @param size          optional number of elements to be returned
+     * @param includeFields fields to be included in results (optional - may not be supported by each version of service)
+     * @return non-nullable instance of resources with found elements
+     */
+    @RequestMapping(value = "/messages", method = RequestMethod.GET)
+    @ResponseBody
+    public Callable<HttpEntity<Resources<T>>> scroll(
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final Integer size,
+            @RequestParam(required = false) final String... includeFields
     ) {
-        tracer(this).info("Getting elements - pageNumber: %d", pageNumber);
-        //TODO return HTTP error instead of exception
-        checkArgument(pageNumber > 0, "Page number must be a positive number");
-        Resources<T> elements = new Resources<T>();
-        int startIndex = pageToIndex(pageNumber, DEFAULT_PAGE_SIZE);
-        elements.add(findElements(startIndex, DEFAULT_PAGE_SIZE, includeFields));
-        addSelfLinks(elements);
-        addPagingLinks(elements, pageNumber, DEFAULT_PAGE_SIZE, getRepository().size(), includeFields);
-        return new ResponseEntity<Resources<T>>(elements, HttpStatus.OK);
+        return new Callable<HttpEntity<Resources<T>>>() {
+            @Override
+            public HttpEntity<Resources<T>> call() {
+                tracer(ReadService.this).info("Scrolling elements - cursor: %s, size: %s", cursor, size);
+                int pageSize = getPageSize(size);
+                Resources<T> elements = new Resources<T>();
+                Slice<T> slice = scrollElements(cursor, pageSize, includeFields);
+                elements.add(slice.getElements());
+                addSelfLinks(elements);
+                addCursorLinks(elements, cursor, pageSize, slice, includeFields);
+                return new ResponseEntity<Resources<T>>(elements, HttpStatus.OK);
+            }
+        };
     }
 
     /**
@@ -81,7 +330,40 @@ public abstract class ReadService<T extends ResourceEntity> {
      * @return non-nullable list
      */
     protected List<T> findElements(int startIndex, int count, String... includeFields) {
-        return getRepository().get(startIndex, count);
+        return getRepository().get(startIndex, count, Projection.ALL);
+    }
+
+    /**
+     * Iterate over all elements
+     *
+     * @param includeFields fields to be included
+     * @return non-nullable iterator
+     */
+    protected Iterator<T> iterateElements(String... includeFields) {
+        return getRepository().iterate(0, Projection.ALL);
+    }
+
+    /**
+     * Find elements with given IDs
+     *
+     * @param ids           IDs of elements
+     * @param includeFields fields to be included
+     * @return non-nullable list with found elements in order of given IDs
+     */
+    protected List<T> findElements(List<String> ids, String... includeFields) {
+        return getRepository().findAll(ids, Projection.ALL);
+    }
+
+    /**
+     * Find elements following given cursor
+     *
+     * @param cursor        continuation token, null for first elements
+     * @param count         maximum number of elements to be taken
+     * @param includeFields fields to be included
+     * @return non-nullable slice
+     */
+    protected Slice<T> scrollElements(String cursor, int count, String... includeFields) {
+        return getRepository().scroll(cursor, count, Projection.ALL);
     }
 
     @ExceptionHandler(Exception.class)
@@ -93,6 +375,146 @@ public abstract class ReadService<T extends ResourceEntity> {
     }
 
 
+    /**
+     * Get number of elements visible by page (window of page). Elements are only appended so content of page changes only
+     * until it's filled and the first element of the next page appears (link to next page is added then).
+     *
+     * @param startIndex index of first element on page
+     * @param pageSize   number of elements displayed on single page
+     * @param maxCount   total number of elements
+     * @return non-negative number
+     */
+    private static long getVisibleCount(int startIndex, int pageSize, int maxCount) {
+        return Math.min((long) maxCount, (long) startIndex + pageSize + 1);
+    }
+
+    /**
+     * Get entity tag of page. Tag depends on the window of page and its representation.
+     *
+     * @param type          type produced for current request
+     * @param startIndex    index of first element on page
+     * @param pageSize      number of elements displayed on single page
+     * @param visibleCount  number of elements visible by page
+     * @param includeFields fields included in results
+     * @return non-nullable weak entity tag
+     */
+    private String getPageETag(MediaType type, int startIndex, int pageSize, long visibleCount, String... includeFields) {
+        String fields = includeFields == null ? null : Arrays.toString(includeFields);
+        return weakETag(getVendorType(), type, startIndex, pageSize, visibleCount, fields);
+    }
+
+    /**
+     * Get key of response cached for current request. Responses are keyed by negotiated type, not by accepted types.
+     *
+     * @param type  type produced for current request, null if client doesn't accept any type produced by service
+     * @param parts values identifying response besides its type and base URI of its links
+     * @return key or null if response shouldn't be cached (cache is disabled or type of response isn't known)
+     */
+    private ResponseCache.Key cacheKey(MediaType type, Object... parts) {
+        if (type == null || !responseCache.isEnabled()) {
+            return null;
+        }
+        // links are absolute so they depend on base URI of request
+        return ResponseCache.key(type, ObjectArrays.concat(links.baseUri(), parts));
+    }
+
+    /**
+     * Get vendor specific type in which response to current request is written.
+     * Type is negotiated as converters do: the most preferred type accepted by the client that is produced by service.
+     *
+     * @return type without parameters or null if client doesn't accept any type produced by service
+     */
+    private MediaType getProducedType() {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String accept = request.getHeader(ACCEPT);
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept == null ? ACCEPT_ALL : accept);
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            for (String representation : REPRESENTATIONS) {
+                MediaType produced = MediaType.parseMediaType(getVendorType() + representation);
+                if (type.isCompatibleWith(produced)) {
+                    return produced;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create response with body taken from the cache of responses or rendered directly when it shouldn't be cached
+     *
+     * @param headers  headers of response
+     * @param key      key of cached response, null if response shouldn't be cached
+     * @param version  current version of content of response
+     * @param renderer creates body of response
+     * @return response with status OK, without body if rendered body is null
+     */
+    private HttpEntity<?> respond(HttpHeaders headers, ResponseCache.Key key, long version, Supplier<?> renderer) {
+        if (key == null) {
+            return new ResponseEntity<Object>(renderer.get(), headers, HttpStatus.OK);
+        }
+        ResponseCache.Encoded response = responseCache.get(key, version, renderer);
+        if (response == null) {
+            return new ResponseEntity<Object>(headers, HttpStatus.OK);
+        }
+        headers.setContentType(response.getContentType());
+        return new ResponseEntity<byte[]>(response.getBody(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Get size of page that should be used
+     *
+     * @param size size required by the client, default size is used if not given
+     * @return positive size of page not greater than configured maximum
+     */
+    protected final int getPageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        checkArgument(size > 0, "Page size must be a positive number");
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Get maximum number of elements that can be created by single batch request
+     *
+     * @return positive size of batch
+     */
+    protected final int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Check whether body of request is NDJSON (element per line)
+     *
+     * @param request received request
+     * @return true if content type of request is NDJSON
+     */
+    protected static boolean isNdjson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MEDIA_TYPE_NDJSON);
+    }
+
+    /**
+     * Create response of batch creation. Only IDs of created elements with their self links are returned.
+     *
+     * @param created elements created by repository in order of the batch
+     * @param errors  errors of elements that were skipped
+     * @return response with status created, bad request if none of elements was created
+     */
+    protected final HttpEntity<BatchResources> createdBatch(List<? extends ResourceEntity> created, List<BatchError> errors) {
+        BatchResources result = new BatchResources();
+        for (ResourceEntity element : created) {
+            ResourceEntity elementId = new ResourceEntity();
+            elementId.copyEntityId(element);
+            elementId.add(links.element(elementId.getEntityId()));
+            result.add(elementId);
+        }
+        result.addErrors(errors);
+        tracer(this).debug("Created batch - elements: %d, errors: %d", created.size(), errors.size());
+        return new ResponseEntity<BatchResources>(result, created.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED);
+    }
+
     /**
      * Add links needed for navigating through elements
      *
@@ -103,13 +525,121 @@ public abstract class ReadService<T extends ResourceEntity> {
      * @param includeFields fields to be included in results
      */
     protected final void addPagingLinks(Resources<T> elements, int pageNumber, int pageSize, int maxCount, String... includeFields) {
+        long start = Metrics.startTime();
+        Integer size = toSizeParam(pageSize);
         if (hasPreviousPage(pageNumber)) {
-            elements.add(linkTo(methodOn(ReadService.class).get(pageNumber - 1, includeFields)).withRel("prev"));
+            elements.add(links.page(pageNumber - 1, size, includeFields, Link.REL_PREVIOUS));
         }
-        elements.add(linkTo(methodOn(ReadService.class).get(pageNumber)).withSelfRel());
+        elements.add(links.page(pageNumber, size, NO_FIELDS, Link.REL_SELF));
         if (hasNextPage(pageNumber, pageSize, maxCount)) {
-            elements.add(linkTo(methodOn(ReadService.class).get(pageNumber + 1, includeFields)).withRel("next"));
+            elements.add(links.page(pageNumber + 1, size, includeFields, Link.REL_NEXT));
+        }
+        NAVIGATION_LINKS.recordTime(start);
+    }
+
+    /**
+     * Add links needed for navigating through ranges of pages taken in bulk
+     *
+     * @param elements      where links should be added
+     * @param fromPage      first page of current range
+     * @param toPage        last page of current range
+     * @param pageSize      number of elements displayed on single page
+     * @param maxCount      total number of elements to be displayed
+     * @param includeFields fields to be included in results
+     */
+    protected final void addBulkLinks(Resources<T> elements, int fromPage, int toPage, int pageSize, int maxCount, String... includeFields) {
+        long start = Metrics.startTime();
+        Integer size = toSizeParam(pageSize);
+        int pages = toPage - fromPage + 1;
+        if (hasPreviousPage(fromPage)) {
+            int prevFrom = Math.max(1, fromPage - pages);
+            elements.add(links.bulk(null, prevFrom, fromPage - 1, size, includeFields, Link.REL_PREVIOUS));
         }
+        elements.add(links.bulk(null, fromPage, toPage, size, includeFields, Link.REL_SELF));
+        if (hasNextPage(toPage, pageSize, maxCount)) {
+            elements.add(links.bulk(null, toPage + 1, toPage + pages, size, includeFields, Link.REL_NEXT));
+        }
+        NAVIGATION_LINKS.recordTime(start);
+    }
+
+    /**
+     * Add links needed for navigating through elements using cursors
+     *
+     * @param elements      where links should be added
+     * @param cursor        cursor of current elements
+     * @param pageSize      maximum number of elements displayed at once
+     * @param slice         current elements with tokens of neighbouring ones
+     * @param includeFields fields to be included in results
+     */
+    protected final void addCursorLinks(Resources<T> elements, String cursor, int pageSize, Slice<T> slice, String... includeFields) {
+        long start = Metrics.startTime();
+        Integer size = toSizeParam(pageSize);
+        if (slice.hasPrevious()) {
+            elements.add(links.cursor(slice.getPreviousToken(), size, includeFields, Link.REL_PREVIOUS));
+        }
+        elements.add(links.cursor(cursor, size, includeFields, Link.REL_SELF));
+        if (slice.hasNext()) {
+            elements.add(links.cursor(slice.getNextToken(), size, includeFields, Link.REL_NEXT));
+        }
+        NAVIGATION_LINKS.recordTime(start);
+    }
+
+    /**
+     * Add links needed for navigating through elements meeting criteria
+     *
+     * @param elements      where links should be added
+     * @param criteria      conditions of elements
+     * @param cursor        cursor of current elements
+     * @param pageSize      maximum number of elements displayed at once
+     * @param slice         current elements with tokens of neighbouring ones
+     * @param includeFields fields to be included in results
+     */
+    protected final void addQueryLinks(Resources<T> elements, Criteria criteria, String cursor, int pageSize, Slice<T> slice, String... includeFields) {
+        long start = Metrics.startTime();
+        Integer size = toSizeParam(pageSize);
+        String sender = criteria.getSender();
+        String titlePrefix = criteria.getTitlePrefix();
+        if (slice.hasPrevious()) {
+            elements.add(links.query(sender, titlePrefix, slice.getPreviousToken(), size, includeFields, Link.REL_PREVIOUS));
+        }
+        elements.add(links.query(sender, titlePrefix, cursor, size, includeFields, Link.REL_SELF));
+        if (slice.hasNext()) {
+            elements.add(links.query(sender, titlePrefix, slice.getNextToken(), size, includeFields, Link.REL_NEXT));
+        }
+        NAVIGATION_LINKS.recordTime(start);
+    }
+
+    /**
+     * Add links needed for navigating through elements found by full-text search
+     *
+     * @param elements      where links should be added
+     * @param text          searched text
+     * @param cursor        cursor of current elements
+     * @param pageSize      maximum number of elements displayed at once
+     * @param slice         current elements with tokens of neighbouring ones
+     * @param includeFields fields to be included in results
+     */
+    protected final void addSearchLinks(Resources<T> elements, String text, String cursor, int pageSize, Slice<T> slice, String... includeFields) {
+        long start = Metrics.startTime();
+        Integer size = toSizeParam(pageSize);
+        if (slice.hasPrevious()) {
+            elements.add(links.search(text, slice.getPreviousToken(), size, includeFields, Link.REL_PREVIOUS));
+        }
+        elements.add(links.search(text, cursor, size, includeFields, Link.REL_SELF));
+        if (slice.hasNext()) {
+            elements.add(links.search(text, slice.getNextToken(), size, includeFields, Link.REL_NEXT));
+        }
+        NAVIGATION_LINKS.recordTime(start);
+    }
+
+    /**
+     * Get value of size parameter that should be placed in links
+     *
+     * @param pageSize size of current page
+     * @return size of page or null if default size is used
+     */
+    private static Integer toSizeParam(int pageSize) {
+        return pageSize == DEFAULT_PAGE_SIZE ? null : pageSize;
     }
 
     /**
@@ -118,9 +648,11 @@ public abstract class ReadService<T extends ResourceEntity> {
      * @param elements where links should be added
      */
     protected final void addSelfLinks(Resources<T> elements) {
+        long start = Metrics.startTime();
         for (T element : elements.getResources()) {
             addSelfLink(element);
         }
+        ELEMENT_LINKS.recordTime(start);
     }
 
     /**
@@ -129,9 +661,16 @@ public abstract class ReadService<T extends ResourceEntity> {
      * @param element where link should be added
      */
     protected final void addSelfLink(T element) {
-        element.add(linkTo(methodOn(ReadService.class).find(element.getEntityId())).withSelfRel());
+        element.add(links.element(element.getEntityId()));
     }
 
+    /**
+     * Get vendor specific type of resources supported by service (without suffix of representation)
+     *
+     * @return non-nullable type, for instance: application/vnd.messages-v1
+     */
+    protected abstract String getVendorType();
+
     /**
      * Get repository enabling access to elements
      *
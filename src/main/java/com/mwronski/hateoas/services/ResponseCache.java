@@ -0,0 +1,317 @@
+package com.mwronski.hateoas.services;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.mwronski.hateoas.metrics.Metric;
+import com.mwronski.hateoas.metrics.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mwronski.hateoas.log.Tracer.tracer;
+import static java.lang.String.format;
+
+/**
+ * Cache of encoded bodies of responses shared by read services (property messages.cache.maxBytes, disabled if 0). <br/>
+ * Bodies are kept as bytes written by the same converters that write responses, so responses served from the cache
+ * skip the repository, building of links and serialization. Cache is bounded by memory taken by bodies and keys,
+ * the least recently used responses are evicted first. <br/>
+ * Each response is cached with version of its content. Response cached with other version than the current one is stale:
+ * it's replaced by rendering the response again, so only responses whose content has changed are invalidated.
+ * Concurrent requests of the same missing response wait for single rendering of it. <br/>
+ * Hits and misses (with time of serving response) are recorded as metrics responses.cache.hit and responses.cache.miss,
+ * sizes of cached bodies as responses.cache.size.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.services.ReadService
+ */
+@Component
+public class ResponseCache {
+
+    public static final long DISABLED = 0;
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final NotCacheable NOT_CACHEABLE = new NotCacheable();
+    private static final Metric HITS = Metrics.metric("responses.cache.hit", Metric.Unit.MICROSECONDS);
+    private static final Metric MISSES = Metrics.metric("responses.cache.miss", Metric.Unit.MICROSECONDS);
+    private static final Metric SIZES = Metrics.metric("responses.cache.size", Metric.Unit.BYTES);
+
+    private final Cache<Key, Encoded> responses;
+    private final List<HttpMessageConverter<?>> converters;
+
+    /**
+     * Create cache encoding responses by converters of the application
+     *
+     * @param maxBytes       maximum number of bytes taken by cached responses, 0 disables cache
+     * @param handlerAdapter adapter of services with configured converters
+     */
+    @Autowired
+    public ResponseCache(@Value("${messages.cache.maxBytes:" + DISABLED + "}") long maxBytes,
+                         RequestMappingHandlerAdapter handlerAdapter) {
+        this(maxBytes, handlerAdapter.getMessageConverters());
+    }
+
+    /**
+     * Create cache
+     *
+     * @param maxBytes   maximum number of bytes taken by cached responses, 0 disables cache
+     * @param converters converters encoding bodies of responses
+     */
+    public ResponseCache(long maxBytes, List<HttpMessageConverter<?>> converters) {
+        checkArgument(maxBytes >= 0, "Maximum size of cache cannot be negative: %s", maxBytes);
+        this.converters = converters;
+        this.responses = maxBytes == DISABLED ? null : CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(new Weigher<Key, Encoded>() {
+                    @Override
+                    public int weigh(Key key, Encoded response) {
+                        return ENTRY_OVERHEAD + key.weight + response.body.length;
+                    }
+                })
+                .<Key, Encoded>build();
+        if (responses != null) {
+            tracer(this).info("Responses are cached - maxBytes: %d", maxBytes);
+        }
+    }
+
+    /**
+     * Check whether responses are cached
+     *
+     * @return true if cache is enabled, false otherwise
+     */
+    public boolean isEnabled() {
+        return responses != null;
+    }
+
+    /**
+     * Create key of response
+     *
+     * @param mediaType type in which response is encoded
+     * @param parts     values identifying response (arrays are compared by their elements)
+     * @return non-nullable key
+     */
+    public static Key key(MediaType mediaType, Object... parts) {
+        return new Key(mediaType, parts);
+    }
+
+    /**
+     * Get encoded response. Response is rendered and cached if it's not cached yet or cached one is stale.
+     * Null and empty bodies are returned without being cached.
+     *
+     * @param key      of response
+     * @param version  current version of content of response
+     * @param renderer creates body of response, may return null
+     * @return encoded response or null if rendered body is null
+     * @throws IllegalStateException if cache is disabled or body couldn't be encoded
+     */
+    public Encoded get(Key key, long version, Supplier<?> renderer) {
+        if (responses == null) {
+            throw new IllegalStateException("Cache of responses is disabled");
+        }
+        long start = Metrics.startTime();
+        Renderer loader = new Renderer(key.mediaType, version, renderer);
+        Encoded response = load(key, loader);
+        if (!loader.invoked && response.version != version) {
+            // stale response is replaced unless it's been already replaced by concurrent request
+            responses.asMap().remove(key, response);
+            response = load(key, loader);
+        }
+        if (!loader.invoked && response.version != version) {
+            // cached by concurrent request that has seen other version of content
+            response = loader.render();
+        }
+        (loader.invoked ? MISSES : HITS).recordTime(start);
+        return response;
+    }
+
+    private Encoded load(Key key, Renderer loader) {
+        try {
+            return responses.get(key, loader);
+        } catch (ExecutionException e) {
+            if (e.getCause() == NOT_CACHEABLE) {
+                // response rendered by concurrent request isn't shared thus it's rendered again
+                return loader.invoked ? loader.rendered : loader.render();
+            }
+            throw Throwables.propagate(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Write body in chosen type using the first converter supporting it
+     *
+     * @param mediaType type of representation
+     * @param version   version of content of body
+     * @param body      non-nullable body of response
+     * @return non-nullable encoded response
+     */
+    @SuppressWarnings("unchecked")
+    private Encoded encode(MediaType mediaType, long version, Object body) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter.canWrite(body.getClass(), mediaType)) {
+                BufferedMessage message = new BufferedMessage();
+                try {
+                    ((HttpMessageConverter<Object>) converter).write(body, mediaType, message);
+                } catch (IOException e) {
+                    throw new IllegalStateException(format("Couldn't encode response - type: %s", mediaType), e);
+                }
+                MediaType contentType = message.headers.getContentType();
+                return new Encoded(version, contentType != null ? contentType : mediaType, message.body.toByteArray());
+            }
+        }
+        throw new IllegalStateException(format("No converter of %s for type: %s", body.getClass().getSimpleName(), mediaType));
+    }
+
+    /**
+     * Key of cached response
+     */
+    public static final class Key {
+
+        private final MediaType mediaType;
+        private final Object[] parts;
+        private final int hashCode;
+        private final int weight;
+
+        private Key(MediaType mediaType, Object[] parts) {
+            this.mediaType = mediaType;
+            this.parts = parts;
+            this.hashCode = 31 * mediaType.hashCode() + Arrays.deepHashCode(parts);
+            this.weight = 2 * (mediaType.toString().length() + Arrays.deepToString(parts).length());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && mediaType.equals(key.mediaType) && Arrays.deepEquals(parts, key.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return mediaType + Arrays.deepToString(parts);
+        }
+    }
+
+    /**
+     * Encoded body of response with its type
+     */
+    public static final class Encoded {
+
+        private final long version;
+        private final MediaType contentType;
+        private final byte[] body;
+
+        private Encoded(long version, MediaType contentType, byte[] body) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public MediaType getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Renders and encodes response when it's missing in the cache
+     */
+    private final class Renderer implements Callable<Encoded> {
+
+        private final MediaType mediaType;
+        private final long version;
+        private final Supplier<?> renderer;
+        private boolean invoked;
+        private Encoded rendered;
+
+        Renderer(MediaType mediaType, long version, Supplier<?> renderer) {
+            this.mediaType = mediaType;
+            this.version = version;
+            this.renderer = renderer;
+        }
+
+        @Override
+        public Encoded call() throws NotCacheable {
+            Encoded response = render();
+            if (response == null || response.body.length == 0) {
+                throw NOT_CACHEABLE;
+            }
+            SIZES.record(response.body.length);
+            return response;
+        }
+
+        /**
+         * Render and encode response
+         *
+         * @return encoded response or null if body is null
+         */
+        Encoded render() {
+            invoked = true;
+            Object body = renderer.get();
+            rendered = body == null ? null : encode(mediaType, version, body);
+            return rendered;
+        }
+    }
+
+    /**
+     * Signals that rendered response shouldn't be cached (body is null or empty)
+     */
+    private static final class NotCacheable extends Exception {
+
+        NotCacheable() {
+            super("Response isn't cacheable", null, false, false);
+        }
+    }
+
+    /**
+     * Output message kept in memory
+     */
+    private static final class BufferedMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+}
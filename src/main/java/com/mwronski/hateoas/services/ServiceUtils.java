@@ -1,5 +1,9 @@
 package com.mwronski.hateoas.services;
 
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 /**
  * Generic functionality related with services
  *
@@ -52,6 +56,72 @@ public final class ServiceUtils {
         return (pageNumber - 1) * pageSize;
     }
 
+    /**
+     * Create strong entity tag for representation identified by given parts
+     *
+     * @param parts values that identify representation
+     * @return non-nullable quoted entity tag
+     */
+    public static String strongETag(Object... parts) {
+        return '"' + hash(parts) + '"';
+    }
+
+    /**
+     * Create weak entity tag for representation identified by given parts
+     *
+     * @param parts values that identify representation
+     * @return non-nullable quoted entity tag with weak indicator
+     */
+    public static String weakETag(Object... parts) {
+        return "W/" + strongETag(parts);
+    }
+
+    /**
+     * Check whether client already has current representation (weak comparison is used)
+     *
+     * @param ifNoneMatch value of If-None-Match header, may be null
+     * @param eTag current entity tag of representation
+     * @return true if representation hasn't been modified, false otherwise
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get entity tag without weak indicator
+     *
+     * @param eTag entity tag
+     * @return non-nullable opaque tag
+     */
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    /**
+     * Hash given values
+     *
+     * @param parts values to be hashed (nulls are allowed)
+     * @return non-nullable hex representation of hash
+     */
+    private static String hash(Object... parts) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Object part : parts) {
+            String value = part == null ? "" : part.toString();
+            hasher.putInt(value.length()).putString(value, Charsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
     private ServiceUtils() {
         //no instances
     }
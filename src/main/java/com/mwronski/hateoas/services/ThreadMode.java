@@ -0,0 +1,51 @@
+package com.mwronski.hateoas.services;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kind of threads handling requests of services
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see AsyncConfiguration
+ */
+public enum ThreadMode {
+
+    /**
+     * Requests are handled by pools of platform threads (container threads and executor of services)
+     */
+    PLATFORM,
+
+    /**
+     * Each request is handled by new virtual thread, both by container and executor of services (requires Java 21 or newer)
+     */
+    VIRTUAL;
+
+    /**
+     * Create executor starting new virtual thread for each task. Executor is created reflectively
+     * so application built for older Java runs in platform mode there.
+     *
+     * @return non-nullable executor
+     * @throws IllegalStateException if running Java doesn't support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method factory;
+        try {
+            factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, running: "
+                    + System.getProperty("java.version"), e);
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create executor of virtual threads", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Couldn't create executor of virtual threads", e.getCause());
+        }
+    }
+
+}
@@ -1,10 +1,14 @@
 package com.mwronski.hateoas.services.v1;
 
-import com.google.common.collect.Sets;
+import com.mwronski.hateoas.model.BatchResources;
 import com.mwronski.hateoas.model.Message;
 import com.mwronski.hateoas.model.ResourceEntity;
 import com.mwronski.hateoas.model.Resources;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.Slice;
+import com.mwronski.hateoas.services.MessageBatch;
 import com.mwronski.hateoas.services.ReadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -13,8 +17,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.Callable;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.mwronski.hateoas.log.Tracer.tracer;
@@ -36,11 +42,64 @@ import static com.mwronski.hateoas.services.ServiceUtils.pageToIndex;
 @RestController
 public class MessageServiceV1 extends ReadService<Message> {
 
-    private static final String[] DISPLAYED_COLUMNS = {ResourceEntity.COLUMN_ENTITY_ID, "title"};
+    private static final Projection DISPLAYED_COLUMNS = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title");
 
     @Autowired
     private Repository<Message> messageRepository;
 
+    //wrap message repository once so proper fields are filtered
+    private final Repository<Message> displayedRepository = new Repository<Message>() {
+        @Override
+        public Message create(Message entity) {
+            return messageRepository.create(entity);
+        }
+
+        @Override
+        public List<Message> createAll(List<Message> entities) {
+            return messageRepository.createAll(entities);
+        }
+
+        @Override
+        public List<Message> get(int start, int rowCount, Projection projection) {
+            return messageRepository.get(start, rowCount, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public Slice<Message> scroll(String token, int rowCount, Projection projection) {
+            return messageRepository.scroll(token, rowCount, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public Slice<Message> query(Criteria criteria, String token, int rowCount, Projection projection) {
+            return messageRepository.query(criteria, token, rowCount, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public Slice<Message> search(String text, String token, int rowCount, Projection projection) {
+            return messageRepository.search(text, token, rowCount, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public Iterator<Message> iterate(int start, Projection projection) {
+            return messageRepository.iterate(start, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public int size() {
+            return messageRepository.size();
+        }
+
+        @Override
+        public Message find(String id, Projection projection) {
+            return messageRepository.find(id, projection.intersect(DISPLAYED_COLUMNS));
+        }
+
+        @Override
+        public List<Message> findAll(List<String> ids, Projection projection) {
+            return messageRepository.findAll(ids, projection.intersect(DISPLAYED_COLUMNS));
+        }
+    };
+
     /**
      * Create message
      *
@@ -50,53 +109,54 @@ public class MessageServiceV1 extends ReadService<Message> {
      */
     @RequestMapping(value = "/message", method = RequestMethod.POST)
     @ResponseBody
-    public HttpEntity<Message> create(HttpServletRequest request, @RequestParam String title) {
-        tracer(this).info("Creating new message - title: %s", title);
-        Message msg = message()
-                .withTitle(title)
-                .withSender(request.getRemoteAddr())
-                .build();
-        msg = messageRepository.create(msg);
-        Message msgId = messageRepository.find(msg.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID);
-        addSelfLink(msgId);
-        return new ResponseEntity<Message>(msgId, HttpStatus.CREATED);
-    }
-
-    @Override
-    protected final Repository<Message> getRepository() {
-        //wrap message repository so proper fields are filtered
-        return new Repository<Message>() {
-            @Override
-            public Message create(Message entity) {
-                return messageRepository.create(entity);
-            }
-
+    public Callable<HttpEntity<Message>> create(final HttpServletRequest request, @RequestParam final String title) {
+        return new Callable<HttpEntity<Message>>() {
             @Override
-            public List<Message> get(int start, int rowCount, String... columns) {
-                return messageRepository.get(start, rowCount, getDisplayedColumns(columns));
-            }
-
-            @Override
-            public int size() {
-                return messageRepository.size();
-            }
-
-            @Override
-            public Message find(String id, String... columns) {
-                return messageRepository.find(id, getDisplayedColumns(columns));
+            public HttpEntity<Message> call() {
+                tracer(MessageServiceV1.this).info("Creating new message - title: %s", title);
+                Message msg = message()
+                        .withTitle(title)
+                        .withSender(request.getRemoteAddr())
+                        .build();
+                msg = messageRepository.create(msg);
+                // only ID of created message is returned, so it's taken from the receipt without reading message back
+                Message msgId = new Message();
+                msgId.copyEntityId(msg);
+                addSelfLink(msgId);
+                return new ResponseEntity<Message>(msgId, HttpStatus.CREATED);
             }
         };
     }
 
     /**
-     * Get all columns that should be displayed by this service
+     * Create many messages at once. Body is JSON array or NDJSON (message per line) of messages with title.
+     * Messages are created in order of the batch, elements that aren't valid messages are skipped and reported as errors.
      *
-     * @param columns columns to be displayed required by 3rd parties
-     * @return non-nullable array with name of columns to be displayed
+     * @param request with address of the sender and body with messages
+     * @return IDs of created messages and errors of skipped elements
      */
-    private String[] getDisplayedColumns(String... columns) {
-        Set<String> allColumns = Sets.newHashSet(DISPLAYED_COLUMNS);
-        allColumns.addAll(Sets.newHashSet(columns));
-        return allColumns.toArray(new String[allColumns.size()]);
+    @RequestMapping(value = "/messages/batch", method = RequestMethod.POST)
+    @ResponseBody
+    public Callable<HttpEntity<BatchResources>> createBatch(final HttpServletRequest request) {
+        return new Callable<HttpEntity<BatchResources>>() {
+            @Override
+            public HttpEntity<BatchResources> call() throws IOException {
+                tracer(MessageServiceV1.this).info("Creating batch of messages - contentType: %s", request.getContentType());
+                MessageBatch batch = MessageBatch.read(request.getInputStream(), isNdjson(request),
+                        request.getRemoteAddr(), false, getMaxBatchSize());
+                List<Message> created = batch.getMessages().isEmpty() ? batch.getMessages() : messageRepository.createAll(batch.getMessages());
+                return createdBatch(created, batch.getErrors());
+            }
+        };
+    }
+
+    @Override
+    protected final String getVendorType() {
+        return "application/vnd.messages-v1";
+    }
+
+    @Override
+    protected final Repository<Message> getRepository() {
+        return displayedRepository;
     }
 }
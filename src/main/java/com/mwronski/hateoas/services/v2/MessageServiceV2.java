@@ -1,10 +1,14 @@
 package com.mwronski.hateoas.services.v2;
 
-import com.google.common.collect.Sets;
+import com.mwronski.hateoas.model.BatchResources;
 import com.mwronski.hateoas.model.Message;
 import com.mwronski.hateoas.model.ResourceEntity;
 import com.mwronski.hateoas.model.Resources;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.Slice;
+import com.mwronski.hateoas.services.MessageBatch;
 import com.mwronski.hateoas.services.ReadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -13,7 +17,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.*;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.mwronski.hateoas.log.Tracer.tracer;
@@ -27,6 +34,9 @@ import static com.mwronski.hateoas.services.ServiceUtils.pageToIndex;
  * related with messages and keep backward compatibility at the same time.<br/>
  * Service provides access to all fields of messages. <br/>
  * Moreover services allows to decide which fields should be returned while getting list of message (pageable access). <br/>
+ * Messages can be queried by sender and beginning of title using indexes of repository
+ * and searched by words of title and content using full-text index. <br/>
+ * Bursts of messages can be created in batches paying for single write to the repository. <br/>
  * Note: class cannot be final because of controller link builder
  *
  * @author Michal Wronski
@@ -38,6 +48,8 @@ import static com.mwronski.hateoas.services.ServiceUtils.pageToIndex;
 @RestController
 public class MessageServiceV2 extends ReadService<Message> {
 
+    private static final Projection ENTITY_ID = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID);
+
     @Autowired
     private Repository<Message> messageRepository;
 
@@ -51,26 +63,147 @@ public class MessageServiceV2 extends ReadService<Message> {
      */
     @RequestMapping(value = "/message", method = RequestMethod.POST)
     @ResponseBody
-    public HttpEntity<Message> create(HttpServletRequest request, @RequestParam String title, @RequestParam String content) {
-        tracer(this).info("Creating new message - title: %s, content: %s", title, content);
-        Message msg = message()
-                .withTitle(title)
-                .withContent(content)
-                .withSender(request.getRemoteAddr())
-                .build();
-        msg = messageRepository.create(msg);
-        Message msgId = getRepository().find(msg.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID);
-        addSelfLink(msgId);
-        return new ResponseEntity<Message>(msgId, HttpStatus.CREATED);
+    public Callable<HttpEntity<Message>> create(final HttpServletRequest request, @RequestParam final String title,
+                                                @RequestParam final String content) {
+        return new Callable<HttpEntity<Message>>() {
+            @Override
+            public HttpEntity<Message> call() {
+                tracer(MessageServiceV2.this).info("Creating new message - title: %s, content: %s", title, content);
+                Message msg = message()
+                        .withTitle(title)
+                        .withContent(content)
+                        .withSender(request.getRemoteAddr())
+                        .build();
+                msg = messageRepository.create(msg);
+                // only ID of created message is returned, so it's taken from the receipt without reading message back
+                Message msgId = new Message();
+                msgId.copyEntityId(msg);
+                addSelfLink(msgId);
+                return new ResponseEntity<Message>(msgId, HttpStatus.CREATED);
+            }
+        };
+    }
+
+    /**
+     * Create many messages at once. Body is JSON array or NDJSON (message per line) of messages with title and content.
+     * Messages are created in order of the batch, elements that aren't valid messages are skipped and reported as errors.
+     *
+     * @param request with address of the sender and body with messages
+     * @return IDs of created messages and errors of skipped elements
+     */
+    @RequestMapping(value = "/messages/batch", method = RequestMethod.POST)
+    @ResponseBody
+    public Callable<HttpEntity<BatchResources>> createBatch(final HttpServletRequest request) {
+        return new Callable<HttpEntity<BatchResources>>() {
+            @Override
+            public HttpEntity<BatchResources> call() throws IOException {
+                tracer(MessageServiceV2.this).info("Creating batch of messages - contentType: %s", request.getContentType());
+                MessageBatch batch = MessageBatch.read(request.getInputStream(), isNdjson(request),
+                        request.getRemoteAddr(), true, getMaxBatchSize());
+                List<Message> created = batch.getMessages().isEmpty() ? batch.getMessages() : messageRepository.createAll(batch.getMessages());
+                return createdBatch(created, batch.getErrors());
+            }
+        };
+    }
+
+    /**
+     * Find messages meeting criteria. Messages are found using indexes of repository
+     * and returned in order of creation.
+     *
+     * @param sender        optional exact sender of messages
+     * @param titlePrefix   optional beginning of title of messages (case sensitive)
+     * @param cursor        continuation token taken from links of previous response. If not given first messages are returned.
+     * @param size          optional number of messages to be returned
+     * @param includeFields fields to be included in results
+     * @return non-nullable instance of resources with found messages
+     */
+    @RequestMapping(value = "/messages/query", method = RequestMethod.GET)
+    @ResponseBody
+    public Callable<HttpEntity<Resources<Message>>> query(
+            @RequestParam(required = false) final String sender,
+            @RequestParam(required = false) final String titlePrefix,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final Integer size,
+            @RequestParam(required = false) final String... includeFields
+    ) {
+        return new Callable<HttpEntity<Resources<Message>>>() {
+            @Override
+            public HttpEntity<Resources<Message>> call() {
+                tracer(MessageServiceV2.this).info("Querying messages - sender: %s, titlePrefix: %s, cursor: %s, size: %s", sender, titlePrefix, cursor, size);
+                checkArgument(sender != null || titlePrefix != null, "Sender or title prefix must be given");
+                Criteria criteria = Criteria.criteria();
+                if (sender != null) {
+                    criteria = criteria.withSender(sender);
+                }
+                if (titlePrefix != null) {
+                    criteria = criteria.withTitlePrefix(titlePrefix);
+                }
+                int pageSize = getPageSize(size);
+                Resources<Message> messages = new Resources<Message>();
+                Slice<Message> slice = messageRepository.query(criteria, cursor, pageSize, getProjection(includeFields));
+                messages.add(slice.getElements());
+                addSelfLinks(messages);
+                addQueryLinks(messages, criteria, cursor, pageSize, slice, includeFields);
+                return new ResponseEntity<Resources<Message>>(messages, HttpStatus.OK);
+            }
+        };
+    }
+
+    /**
+     * Find messages containing words of given text ranked by relevance
+     *
+     * @param q             searched text
+     * @param cursor        continuation token taken from links of previous response. If not given the most relevant messages are returned.
+     * @param size          optional number of messages to be returned
+     * @param includeFields fields to be included in results
+     * @return non-nullable instance of resources with found messages
+     */
+    @RequestMapping(value = "/messages/search", method = RequestMethod.GET)
+    @ResponseBody
+    public Callable<HttpEntity<Resources<Message>>> search(
+            @RequestParam final String q,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final Integer size,
+            @RequestParam(required = false) final String... includeFields
+    ) {
+        return new Callable<HttpEntity<Resources<Message>>>() {
+            @Override
+            public HttpEntity<Resources<Message>> call() {
+                tracer(MessageServiceV2.this).info("Searching messages - q: %s, cursor: %s, size: %s", q, cursor, size);
+                int pageSize = getPageSize(size);
+                Resources<Message> messages = new Resources<Message>();
+                Slice<Message> slice = messageRepository.search(q, cursor, pageSize, getProjection(includeFields));
+                messages.add(slice.getElements());
+                addSelfLinks(messages);
+                addSearchLinks(messages, q, cursor, pageSize, slice, includeFields);
+                return new ResponseEntity<Resources<Message>>(messages, HttpStatus.OK);
+            }
+        };
     }
 
     @Override
     protected List<Message> findElements(int startIndex, int count, String... includeFields) {
-        System.out.println(Arrays.toString(includeFields));
-        Set<String> columns = includeFields != null ? Sets.newHashSet(includeFields) : new HashSet<String>();
-        columns.add(ResourceEntity.COLUMN_ENTITY_ID); //ID always must be included
-        tracer(this).debug("Filter - included columns: %s", columns);
-        return messageRepository.get(startIndex, DEFAULT_PAGE_SIZE, columns.toArray(new String[columns.size()]));
+        return messageRepository.get(startIndex, count, getProjection(includeFields));
+    }
+
+    @Override
+    protected List<Message> findElements(List<String> ids, String... includeFields) {
+        return messageRepository.findAll(ids, getProjection(includeFields));
+    }
+
+    @Override
+    protected Iterator<Message> iterateElements(String... includeFields) {
+        return messageRepository.iterate(0, getProjection(includeFields));
+    }
+
+    @Override
+    protected Slice<Message> scrollElements(String cursor, int count, String... includeFields) {
+        return messageRepository.scroll(cursor, count, getProjection(includeFields));
+    }
+
+    @Override
+    protected final String getVendorType() {
+        return "application/vnd.messages-v2";
     }
 
     @Override
@@ -78,4 +211,17 @@ public class MessageServiceV2 extends ReadService<Message> {
         return messageRepository;
     }
 
+    /**
+     * Get projection with columns that should be returned to the client
+     *
+     * @param includeFields fields required by the client, ID of message is always included
+     * @return non-nullable interned projection
+     * @throws IllegalArgumentException if any field isn't a field of message
+     */
+    private Projection getProjection(String... includeFields) {
+        Projection projection = Projection.of(Message.class, includeFields).union(ENTITY_ID); //ID always must be included
+        tracer(this).debug("Projection - included columns: %s", projection);
+        return projection;
+    }
+
 }
@@ -0,0 +1,149 @@
+package com.mwronski.hateoas.log;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static com.mwronski.hateoas.log.Tracer.tracer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for asynchronous mode of tracers
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.log.AsyncTracing
+ */
+public class AsyncTracingTest {
+
+    private final CollectingAppender appender = new CollectingAppender();
+    private final Logger logger = Logger.getLogger(AsyncTracingTest.class.getName());
+
+    @Before
+    public void attachAppender() {
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditivity(false);
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void detachAppender() {
+        logger.removeAppender(appender);
+    }
+
+    @Test
+    public void shouldWriteAllEventsOnClose() throws Exception {
+        // given
+        final int threads = 4;
+        final int events = 1000;
+        AsyncTracing tracing = new AsyncTracing(64, 16, OverflowPolicy.BLOCK, 1);
+        tracing.start();
+        List<Thread> loggers = new ArrayList<Thread>();
+        try {
+            // when
+            for (int t = 0; t < threads; t++) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < events; i++) {
+                            tracer(AsyncTracingTest.this).debug("Event: %d", i);
+                        }
+                    }
+                });
+                thread.start();
+                loggers.add(thread);
+            }
+            for (Thread thread : loggers) {
+                thread.join();
+            }
+        } finally {
+            tracing.close();
+        }
+        // then
+        assertThat(appender.events.size(), is(threads * events));
+        assertThat(tracing.getDroppedEvents(), is(0L));
+        assertThat(tracing.getBufferedEvents(), is(0));
+    }
+
+    @Test
+    public void shouldDropEventsOfFullBuffer() throws Exception {
+        // given
+        AsyncTracing tracing = new AsyncTracing(4, 1, OverflowPolicy.DROP, 1);
+        appender.blockUntil(new CountDownLatch(1));
+        tracing.start();
+        try {
+            // when
+            for (int i = 0; i < 20; i++) {
+                tracer(this).info("Event: %d", i);
+            }
+        } finally {
+            appender.release();
+            tracing.close();
+        }
+        // then
+        assertThat(tracing.getDroppedEvents(), is(greaterThan(0L)));
+        assertThat(appender.events.size() + tracing.getDroppedEvents(), is(20L));
+    }
+
+    @Test
+    public void shouldWriteSynchronouslyAfterClose() {
+        // given
+        AsyncTracing tracing = new AsyncTracing(4, 1, OverflowPolicy.DROP, 1);
+        tracing.start();
+        tracing.close();
+        // when
+        tracer(this).warn("Event after close");
+        // then
+        assertThat(appender.events.size(), is(1));
+        assertThat(appender.events.get(0).getThreadName(), is(Thread.currentThread().getName()));
+    }
+
+    /**
+     * Appender keeping events in memory which can hold writer on first event
+     */
+    private static final class CollectingAppender extends AppenderSkeleton {
+
+        private final List<LoggingEvent> events = new CopyOnWriteArrayList<LoggingEvent>();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        void blockUntil(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        @Override
+        protected void append(LoggingEvent event) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.mwronski.hateoas.log;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for lock-free ring buffer
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.log.RingBuffer
+ */
+public class RingBufferTest {
+
+    @Test
+    public void shouldRejectElementsOfFullBuffer() {
+        // given
+        RingBuffer<Integer> buffer = new RingBuffer<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i), is(true));
+        }
+        // when
+        boolean offered = buffer.offer(4);
+        // then
+        assertThat(offered, is(false));
+        assertThat(buffer.size(), is(4));
+    }
+
+    @Test
+    public void shouldDrainElementsInOrder() {
+        // given
+        RingBuffer<Integer> buffer = new RingBuffer<Integer>(4);
+        List<Integer> batch = new ArrayList<Integer>();
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+            if (i == 2) {
+                buffer.drainTo(batch, 2);
+            }
+        }
+        // when
+        int drained = buffer.drainTo(batch, 10);
+        // then
+        assertThat(drained, is(4));
+        assertThat(batch, contains(0, 1, 2, 3, 4, 5));
+        assertThat(buffer.size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequirePowerOfTwoCapacity() {
+        new RingBuffer<Integer>(10);
+    }
+
+    @Test
+    public void shouldPassElementsOfConcurrentProducers() throws Exception {
+        // given
+        final int producers = 4;
+        final int elements = 10000;
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            final int first = p * elements;
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = first; i < first + elements; i++) {
+                        while (!buffer.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producer.start();
+            threads.add(producer);
+        }
+        // when
+        start.countDown();
+        Set<Integer> consumed = new HashSet<Integer>();
+        List<Integer> batch = new ArrayList<Integer>();
+        while (consumed.size() < producers * elements) {
+            buffer.drainTo(batch, 16);
+            consumed.addAll(batch);
+            batch.clear();
+        }
+        // then
+        for (Thread producer : threads) {
+            producer.join();
+        }
+        assertThat(consumed.size(), is(producers * elements));
+        assertThat(buffer.size(), is(0));
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.mwronski.hateoas.log;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.mwronski.hateoas.log.Tracer.tracer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test cases for tracer
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.log.Tracer
+ */
+public class TracerTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void shouldShareTracerBetweenThreads() throws Exception {
+        // given
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Tracer>> tracers = new ArrayList<Future<Tracer>>();
+        try {
+            // when
+            for (int i = 0; i < THREADS; i++) {
+                tracers.add(executor.submit(new Callable<Tracer>() {
+                    @Override
+                    public Tracer call() throws Exception {
+                        start.await();
+                        return tracer(SharedByThreads.class);
+                    }
+                }));
+            }
+            start.countDown();
+            // then
+            Tracer expected = tracer(SharedByThreads.class);
+            for (Future<Tracer> tracer : tracers) {
+                assertThat(tracer.get(), sameInstance(expected));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotFormatArgumentsOfDisabledLevel() {
+        // given
+        Logger.getLogger(DisabledLevel.class.getName()).setLevel(Level.WARN);
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Argument of disabled level formatted");
+            }
+        };
+        // when
+        Tracer tracer = tracer(DisabledLevel.class);
+        tracer.debug("Argument: %s", argument);
+        tracer.debug("Arguments: %s, %s, %s, %s", argument, argument, argument, argument);
+        tracer.info("Argument: %s", argument);
+        tracer.info("Arguments: %s, %s", new IllegalStateException(), argument, argument);
+        // then no formatting occurred
+    }
+
+    @Test
+    public void shouldFormatPrimitiveArguments() {
+        // given
+        Logger logger = Logger.getLogger(PrimitiveArguments.class.getName());
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditivity(false);
+        final List<String> messages = new ArrayList<String>();
+        AppenderSkeleton appender = new AppenderSkeleton() {
+            @Override
+            protected void append(LoggingEvent event) {
+                messages.add(event.getRenderedMessage());
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public boolean requiresLayout() {
+                return false;
+            }
+        };
+        logger.addAppender(appender);
+        try {
+            // when
+            Tracer tracer = tracer(PrimitiveArguments.class);
+            tracer.debug("Int: %d", 7);
+            tracer.info("Long: %d", Long.MAX_VALUE);
+            tracer.warn("Short: %s", (short) 3);
+            tracer.error("Boxed: %s", Integer.valueOf(5));
+            // then
+            assertThat(messages, contains("Int: 7", "Long: " + Long.MAX_VALUE, "Short: 3", "Boxed: 5"));
+        } finally {
+            logger.removeAppender(appender);
+        }
+    }
+
+    private static final class SharedByThreads {
+    }
+
+    private static final class PrimitiveArguments {
+    }
+
+    private static final class DisabledLevel {
+    }
+
+}
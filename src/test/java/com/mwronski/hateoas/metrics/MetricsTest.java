@@ -0,0 +1,91 @@
+package com.mwronski.hateoas.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.locks.Lock;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for metrics and locks measured by them
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.metrics.Metrics
+ */
+public class MetricsTest {
+
+    @After
+    public void disableMetrics() {
+        Metrics.enable(false);
+    }
+
+    @Test
+    public void shouldNotRecordWhenDisabled() {
+        // given
+        Metric metric = Metrics.metric("test.disabled", Metric.Unit.BYTES);
+        long start = Metrics.startTime();
+
+        // when
+        metric.record(100);
+        metric.recordTime(start);
+
+        // then
+        assertThat(start, is(Metrics.NOT_STARTED));
+        assertThat(metric.total().getCount(), is(0L));
+    }
+
+    @Test
+    public void shouldReportValuesSinceLastReport() {
+        // given
+        Metrics.enable(true);
+        Metric metric = Metrics.metric("test.enabled", Metric.Unit.BYTES);
+        metric.record(100);
+        metric.record(300);
+
+        // when
+        MetricSnapshot first = metric.sinceLastReport();
+        metric.record(200);
+        MetricSnapshot second = metric.sinceLastReport();
+
+        // then
+        assertThat(first.getCount(), is(2L));
+        assertThat(first.getMax(), is(300.0));
+        assertThat(second.getCount(), is(1L));
+        assertThat(second.getMax(), is(200.0));
+        assertThat(metric.total().getCount(), is(3L));
+    }
+
+    @Test
+    public void shouldMeasureOutermostHoldOfLock() {
+        // given
+        Metrics.enable(true);
+        Lock lock = new TimedLock("test.lock");
+
+        // when
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+
+        // then
+        MetricSnapshot waits = Metrics.metric("test.lock.wait", Metric.Unit.MICROSECONDS).total();
+        MetricSnapshot holds = Metrics.metric("test.lock.hold", Metric.Unit.MICROSECONDS).total();
+        assertThat(waits.getCount(), is(1L));
+        assertThat(holds.getCount(), is(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMetricWithDifferentUnit() {
+        // given
+        Metrics.metric("test.unit", Metric.Unit.BYTES);
+
+        // when
+        Metrics.metric("test.unit", Metric.Unit.MICROSECONDS);
+
+        // then exception is thrown
+    }
+
+}
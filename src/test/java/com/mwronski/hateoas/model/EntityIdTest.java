@@ -0,0 +1,83 @@
+package com.mwronski.hateoas.model;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test cases for binary IDs of entities
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.model.EntityId
+ */
+public class EntityIdTest {
+
+    @Test
+    public void shouldGenerateOrderedIds() {
+        //given ID generated before
+        EntityId previous = EntityId.generate();
+        for (int i = 0; i < 10000; i++) {
+            //when next ID is generated
+            EntityId next = EntityId.generate();
+            //then it's greater than the previous one
+            assertThat(next.compareTo(previous), is(greaterThan(0)));
+            previous = next;
+        }
+        //and it keeps time of generation
+        assertThat(previous.getTimestamp(), is(lessThanOrEqualTo(System.currentTimeMillis() + 1000)));
+    }
+
+    @Test
+    public void shouldKeepTextFormOfUuid() {
+        //given generated ID
+        EntityId id = EntityId.generate();
+        //when ID is converted into text
+        String text = id.toString();
+        //then text is valid version 7 UUID
+        UUID uuid = UUID.fromString(text);
+        assertThat(uuid.version(), is(7));
+        assertThat(uuid.variant(), is(2));
+        assertThat(uuid.toString(), is(text));
+        //and it's parsed into the same ID
+        assertThat(EntityId.tryParse(text), is(id));
+        assertThat(EntityId.tryParse(text.toUpperCase()), is(id));
+    }
+
+    @Test
+    public void shouldParseRandomUuids() {
+        //given random UUID
+        UUID uuid = UUID.randomUUID();
+        //when its text is parsed
+        EntityId id = EntityId.tryParse(uuid.toString());
+        //then the same bits are kept
+        assertThat(id.getMostSignificantBits(), is(uuid.getMostSignificantBits()));
+        assertThat(id.getLeastSignificantBits(), is(uuid.getLeastSignificantBits()));
+        assertThat(id.toString(), is(uuid.toString()));
+    }
+
+    @Test
+    public void shouldRejectInvalidText() {
+        //when invalid texts are parsed
+        //then no IDs are returned
+        assertThat(EntityId.tryParse(null), is(nullValue()));
+        assertThat(EntityId.tryParse("123-v1"), is(nullValue()));
+        assertThat(EntityId.tryParse("0189f7a2-3b4c-7d5e-8f60-71829304a5bx"), is(nullValue()));
+        assertThat(EntityId.tryParse("0189f7a2+3b4c-7d5e-8f60-71829304a5b6"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRejectNonAsciiDigits() {
+        //when text with fullwidth digit zero is parsed
+        EntityId id = EntityId.tryParse("\uff10189f7a2-3b4c-7d5e-8f60-71829304a5b6");
+        //then no ID is returned, so text forms of IDs are unique
+        assertThat(id, is(nullValue()));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.mwronski.hateoas.repositories;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test cases for projections of columns
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.Projection
+ */
+public class ProjectionTest {
+
+    @Test
+    public void shouldInternProjectionsOfTheSameColumns() {
+        //when projections are taken for the same columns given in different order
+        Projection first = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title");
+        Projection second = Projection.of(Message.class, "title", ResourceEntity.COLUMN_ENTITY_ID, "");
+        //then the same instance is returned
+        assertThat(first, is(sameInstance(second)));
+        assertThat(first.includes("title"), is(true));
+        assertThat(first.includes("content"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownColumns() {
+        //when projection is taken for column that isn't a field of type
+        Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "unknown");
+        //then exception is thrown
+    }
+
+    @Test
+    public void shouldCombineProjections() {
+        //given projections of messages
+        Projection title = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title");
+        Projection sender = Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "sender");
+        //when projections are combined
+        Projection union = title.union(sender);
+        Projection intersection = Projection.ALL.intersect(title);
+        //then interned projections of combined columns are returned
+        assertThat(union, is(sameInstance(Projection.of(Message.class, "sender", "title", ResourceEntity.COLUMN_ENTITY_ID))));
+        assertThat(intersection, is(sameInstance(title)));
+        assertThat(title.intersect(sender), is(sameInstance(Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID))));
+    }
+
+}
@@ -0,0 +1,297 @@
+package com.mwronski.hateoas.repositories.file;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.RecordCodec;
+import com.mwronski.hateoas.repositories.Slice;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.IsNull.notNullValue;
+
+/**
+ * Test cases for file-backed message repository
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.file.FileMessageRepository
+ */
+public class FileMessageRepositoryTest {
+
+    private static final int SMALL_SEGMENT_SIZE = 4096;
+
+    private File directory;
+    private FileMessageRepository repository;
+
+    @Before
+    public void openRepository() throws IOException {
+        directory = Files.createTempDirectory("messages").toFile();
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+    }
+
+    @After
+    public void deleteRepository() {
+        repository.close();
+        File[] files = directory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void shouldFindMessagesWithAllFields() {
+        //given sample message is stored in repository
+        Message msg = repository.create(sampleMessage(1));
+        //when searching message with chosen ID and all fields
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.ALL);
+        //then message is found with all fields
+        assertThat(foundMsg.getEntityId(), is(msg.getEntityId()));
+        assertThat(foundMsg.getTitle(), is(msg.getTitle()));
+        assertThat(foundMsg.getContent(), is(msg.getContent()));
+        assertThat(foundMsg.getSender(), is(msg.getSender()));
+        //and unknown message isn't found
+        assertThat(repository.find("unknown", Projection.ALL), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReadChosenFields() {
+        //given sample message is stored in repository
+        Message msg = repository.create(sampleMessage(1));
+        //when reading message with chosen fields
+        Message foundMsg = repository.get(0, 1, Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title")).get(0);
+        //then only chosen fields are set
+        assertThat(foundMsg.getEntityId(), is(msg.getEntityId()));
+        assertThat(foundMsg.getTitle(), is(msg.getTitle()));
+        assertThat(foundMsg.getContent(), is(nullValue()));
+        assertThat(foundMsg.getSender(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepNullFields() {
+        //given message without content
+        Message msg = message().withTitle("title").build();
+        repository.create(msg);
+        //when reading message
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.ALL);
+        //then missing fields stay empty
+        assertThat(foundMsg.getTitle(), is("title"));
+        assertThat(foundMsg.getContent(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRollSegmentsAndReadInOrder() {
+        //given more messages than single segment can keep
+        List<Message> created = createMessages(200);
+        //when reading all messages
+        List<Message> found = repository.get(0, 500, Projection.ALL);
+        //then messages are read in order of creation
+        assertThat(Segment.fileOf(directory, 1).exists(), is(true));
+        assertThat(found.size(), is(200));
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(found.get(i).getEntityId(), is(created.get(i).getEntityId()));
+            assertThat(repository.find(created.get(i).getEntityId(), Projection.ALL).getTitle(), is("title " + i));
+        }
+    }
+
+    @Test
+    public void shouldScrollAndIterateMessages() {
+        //given stored messages
+        createMessages(25);
+        //when scrolling and iterating messages
+        Slice<Message> first = repository.scroll(null, 10, Projection.ALL);
+        Slice<Message> second = repository.scroll(first.getNextToken(), 10, Projection.ALL);
+        Iterator<Message> iterator = repository.iterate(20, Projection.of(Message.class, "title"));
+        //then following messages are returned
+        assertThat(second.getElements().get(0).getTitle(), is("title 10"));
+        assertThat(second.hasPrevious(), is(true));
+        int count = 0;
+        while (iterator.hasNext()) {
+            assertThat(iterator.next().getTitle(), is("title " + (20 + count++)));
+        }
+        assertThat(count, is(5));
+    }
+
+    @Test
+    public void shouldFindAllMessages() {
+        //given stored messages
+        List<Message> created = createMessages(3);
+        //when searching messages by IDs
+        List<Message> found = repository.findAll(Arrays.asList(created.get(2).getEntityId(), "unknown",
+                created.get(0).getEntityId()), Projection.ALL);
+        //then known messages are returned in order of IDs
+        assertThat(found.size(), is(2));
+        assertThat(found.get(0).getTitle(), is("title 2"));
+        assertThat(found.get(1).getTitle(), is("title 0"));
+    }
+
+    @Test
+    public void shouldRecoverMessagesAfterReopening() {
+        //given messages stored in closed repository
+        List<Message> created = createMessages(100);
+        repository.close();
+        //when repository is opened again
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+        //then all messages are available
+        assertThat(repository.size(), is(100));
+        assertThat(repository.find(created.get(42).getEntityId(), Projection.ALL).getTitle(), is("title 42"));
+        //and new messages are appended after them
+        repository.create(sampleMessage(100));
+        assertThat(repository.get(100, 1, Projection.ALL).get(0).getTitle(), is("title 100"));
+    }
+
+    @Test
+    public void shouldCreateBatchSpanningSegmentsAndRecoverIt() {
+        //given batch of messages bigger than single segment following single message
+        repository.create(sampleMessage(0));
+        List<Message> batch = new ArrayList<Message>();
+        for (int i = 1; i <= 200; i++) {
+            batch.add(sampleMessage(i));
+        }
+        //when messages are created at once
+        List<Message> created = repository.createAll(batch);
+        //then all messages are stored in order of the batch in many segments
+        assertThat(created.size(), is(200));
+        assertThat(Segment.fileOf(directory, 1).exists(), is(true));
+        assertThat(repository.size(), is(201));
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(repository.get(i + 1, 1, Projection.ALL).get(0).getEntityId(), is(created.get(i).getEntityId()));
+            assertThat(repository.find(created.get(i).getEntityId(), Projection.ALL).getTitle(), is("title " + (i + 1)));
+        }
+        //and messages are recovered after reopening
+        repository.close();
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+        assertThat(repository.size(), is(201));
+        assertThat(repository.find(created.get(199).getEntityId(), Projection.ALL).getTitle(), is("title 200"));
+    }
+
+    @Test
+    public void shouldQueryMessagesAfterReopening() {
+        //given messages stored in closed repository
+        List<Message> created = createMessages(300);
+        repository.close();
+        //when repository is opened again and messages are queried by sender and title
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+        Criteria criteria = Criteria.criteria().withSender("10.0.0.42").withTitlePrefix("title 2");
+        Slice<Message> found = repository.query(criteria, null, 10, Projection.ALL);
+        //then indexes are recovered with messages
+        assertThat(found.getElements().size(), is(1));
+        assertThat(found.getElements().get(0).getEntityId(), is(created.get(297).getEntityId()));
+        assertThat(found.hasNext(), is(false));
+    }
+
+    @Test
+    public void shouldTruncateTornRecord() throws IOException {
+        //given repository with torn record at the tail
+        createMessages(2);
+        repository.close();
+        File segment = Segment.fileOf(directory, 0);
+        int end = tailOf(segment);
+        RandomAccessFile file = new RandomAccessFile(segment, "rw");
+        try {
+            file.seek(end);
+            file.writeInt(100);
+            file.writeInt(12345);
+            file.writeInt(7);
+        } finally {
+            file.close();
+        }
+        //when repository is opened again
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+        //then torn record is skipped
+        assertThat(repository.size(), is(2));
+        //and space of torn record is reused
+        Message msg = repository.create(sampleMessage(2));
+        repository.close();
+        repository = new FileMessageRepository(directory, SMALL_SEGMENT_SIZE, true);
+        assertThat(repository.size(), is(3));
+        assertThat(repository.find(msg.getEntityId(), Projection.ALL), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldCreateMessagesConcurrently() throws Exception {
+        //given writers creating messages at the same time
+        final int writers = 4;
+        final int messages = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<List<Message>>> results = new ArrayList<Future<List<Message>>>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                results.add(executor.submit(new Callable<List<Message>>() {
+                    @Override
+                    public List<Message> call() {
+                        return createMessages(messages);
+                    }
+                }));
+            }
+            //when all writers are finished
+            List<Message> created = new ArrayList<Message>();
+            for (Future<List<Message>> result : results) {
+                created.addAll(result.get());
+            }
+            //then every message can be found
+            assertThat(repository.size(), is(writers * messages));
+            for (Message msg : created) {
+                assertThat(repository.find(msg.getEntityId(), Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID)).getEntityId(),
+                        is(msg.getEntityId()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Message> createMessages(int count) {
+        List<Message> created = new ArrayList<Message>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(repository.create(sampleMessage(i)));
+        }
+        return created;
+    }
+
+    /**
+     * Find end of records in segment file
+     */
+    private static int tailOf(File segment) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(segment, "r");
+        try {
+            int position = 0;
+            int length;
+            while ((length = file.readInt()) > 0) {
+                position += RecordCodec.HEADER_SIZE + length;
+                file.seek(position);
+            }
+            return position;
+        } finally {
+            file.close();
+        }
+    }
+
+    private static Message sampleMessage(int i) {
+        return message()
+                .withTitle("title " + i)
+                .withContent("content of message " + i)
+                .withSender("10.0.0." + (i % 255))
+                .build();
+    }
+
+}
@@ -2,9 +2,21 @@ package com.mwronski.hateoas.repositories.memory;
 
 import com.mwronski.hateoas.model.Message;
 import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.Slice;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -18,9 +30,23 @@ import static org.hamcrest.core.IsNull.notNullValue;
  * @date 31-05-2014
  * @see com.mwronski.hateoas.repositories.memory.InMemoryMessageRepository
  */
+@RunWith(Parameterized.class)
 public class InMemoryMessageRepositoryTest {
 
-    private final InMemoryMessageRepository repository = new InMemoryMessageRepository();
+    private final InMemoryMessageRepository repository;
+
+    public InMemoryMessageRepositoryTest(StorageMode storageMode) {
+        repository = new InMemoryMessageRepository(storageMode);
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> storageModes() {
+        List<Object[]> modes = new ArrayList<Object[]>();
+        for (StorageMode mode : StorageMode.values()) {
+            modes.add(new Object[]{mode});
+        }
+        return modes;
+    }
 
     @Test
     public void shouldCreateMessage() {
@@ -41,7 +67,7 @@ public class InMemoryMessageRepositoryTest {
         repository.create(msg);
         assertThat(repository.size(), is(1));
         //when searching message with chosen ID and all fields
-        Message foundMsg = repository.find(msg.getEntityId());
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.ALL);
         //then message is found
         assertThat(foundMsg, is(notNullValue()));
         //and all fields in message are set
@@ -58,7 +84,7 @@ public class InMemoryMessageRepositoryTest {
         repository.create(msg);
         assertThat(repository.size(), is(1));
         //when searching message with chosen ID and chosen fields
-        Message foundMsg = repository.find(msg.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID, "title");
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "title"));
         //then message is found
         assertThat(foundMsg, is(notNullValue()));
         //and only chosen fields are set
@@ -68,6 +94,21 @@ public class InMemoryMessageRepositoryTest {
         assertThat(foundMsg.getSender(), is(nullValue()));
     }
 
+    @Test
+    public void shouldFindMessagesWithChosenFieldsAfterMissingOnes() {
+        //given message without title is stored in repository
+        Message msg = sampleMessage();
+        msg.setTitle(null);
+        repository.create(msg);
+        //when searching message with chosen fields that follow missing one
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.of(Message.class, "title", "sender"));
+        //then only chosen fields are set
+        assertThat(foundMsg.getEntityId(), is(nullValue()));
+        assertThat(foundMsg.getTitle(), is(nullValue()));
+        assertThat(foundMsg.getContent(), is(nullValue()));
+        assertThat(foundMsg.getSender(), is(msg.getSender()));
+    }
+
     @Test
     public void shouldGetMessagesWithAllFields() {
         //given sample message is stored in repository
@@ -75,7 +116,7 @@ public class InMemoryMessageRepositoryTest {
         repository.create(msg);
         assertThat(repository.size(), is(1));
         //when getting messages with all fields
-        List<Message> foundMsgs = repository.get(0, 10);
+        List<Message> foundMsgs = repository.get(0, 10, Projection.ALL);
         //then messages are found
         assertThat(foundMsgs, is(notNullValue()));
         assertThat(foundMsgs.size(), is(1));
@@ -94,7 +135,7 @@ public class InMemoryMessageRepositoryTest {
         repository.create(msg);
         assertThat(repository.size(), is(1));
         //when getting messages with chosen fields
-        List<Message> foundMsgs = repository.get(0, 10, ResourceEntity.COLUMN_ENTITY_ID, "content");
+        List<Message> foundMsgs = repository.get(0, 10, Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "content"));
         //then messages are found
         assertThat(foundMsgs, is(notNullValue()));
         assertThat(foundMsgs.size(), is(1));
@@ -106,6 +147,210 @@ public class InMemoryMessageRepositoryTest {
         assertThat(firstMsg.getSender(), is(nullValue()));
     }
 
+    @Test
+    public void shouldFindManyMessagesWithChosenFields() {
+        //given sample messages are stored in repository
+        Message first = sampleMessage();
+        Message second = sampleMessage();
+        repository.create(first);
+        repository.create(second);
+        //when searching messages with chosen IDs and fields
+        List<Message> foundMsgs = repository.findAll(Arrays.asList(second.getEntityId(), "unknown", first.getEntityId()),
+                Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID));
+        //then existing messages are found in order of IDs
+        assertThat(foundMsgs.size(), is(2));
+        assertThat(foundMsgs.get(0).getEntityId(), is(second.getEntityId()));
+        assertThat(foundMsgs.get(1).getEntityId(), is(first.getEntityId()));
+        //and only chosen fields are set
+        assertThat(foundMsgs.get(0).getTitle(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldQueryMessagesBySender() {
+        //given messages of different senders are stored in repository
+        List<Message> expected = new ArrayList<Message>();
+        for (int i = 0; i < 25; i++) {
+            Message msg = repository.create(message("Title" + i, i % 3 == 0 ? "10.0.0.1" : "10.0.0.2"));
+            if (i % 3 == 0) {
+                expected.add(msg);
+            }
+        }
+        //when querying first messages of chosen sender
+        Criteria criteria = Criteria.criteria().withSender("10.0.0.1");
+        Slice<Message> first = repository.query(criteria, null, 5, Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "sender"));
+        //then only messages of sender are found in order of creation
+        assertThat(first.getElements().size(), is(5));
+        for (int i = 0; i < 5; i++) {
+            assertThat(first.getElements().get(i).getEntityId(), is(expected.get(i).getEntityId()));
+            assertThat(first.getElements().get(i).getSender(), is("10.0.0.1"));
+            assertThat(first.getElements().get(i).getTitle(), is(nullValue()));
+        }
+        assertThat(first.hasPrevious(), is(false));
+        //and following messages are found using token
+        Slice<Message> second = repository.query(criteria, first.getNextToken(), 5, Projection.ALL);
+        assertThat(second.getElements().size(), is(4));
+        assertThat(second.getElements().get(0).getEntityId(), is(expected.get(5).getEntityId()));
+        assertThat(second.hasNext(), is(false));
+        //and preceding messages are found using token
+        Slice<Message> previous = repository.query(criteria, second.getPreviousToken(), 5, Projection.ALL);
+        assertThat(previous.getElements().get(0).getEntityId(), is(expected.get(0).getEntityId()));
+    }
+
+    @Test
+    public void shouldQueryMessagesByTitlePrefixAndSender() {
+        //given messages with different titles and senders are stored in repository
+        repository.create(message("Alert: disk", "10.0.0.1"));
+        Message expected = repository.create(message("Alert: memory", "10.0.0.2"));
+        repository.create(message("Info: started", "10.0.0.2"));
+        Message second = repository.create(message("Alert", "10.0.0.2"));
+        //when querying messages by prefix of title
+        Slice<Message> byTitle = repository.query(Criteria.criteria().withTitlePrefix("Alert"), null, 10, Projection.ALL);
+        //then messages with matching titles are found in order of creation
+        assertThat(byTitle.getElements().size(), is(3));
+        //and querying by prefix and sender finds messages meeting both conditions
+        Slice<Message> both = repository.query(Criteria.criteria().withTitlePrefix("Alert").withSender("10.0.0.2"), null, 10, Projection.ALL);
+        assertThat(both.getElements().size(), is(2));
+        assertThat(both.getElements().get(0).getEntityId(), is(expected.getEntityId()));
+        assertThat(both.getElements().get(1).getEntityId(), is(second.getEntityId()));
+        //and unknown values don't match any messages
+        assertThat(repository.query(Criteria.criteria().withSender("unknown"), null, 10, Projection.ALL).getElements().isEmpty(), is(true));
+        assertThat(repository.query(Criteria.criteria().withTitlePrefix("Warn"), null, 10, Projection.ALL).getElements().isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectQueryWithoutCriteria() {
+        //when querying messages without any conditions
+        repository.query(Criteria.criteria(), null, 10, Projection.ALL);
+        //then exception is thrown
+    }
+
+    @Test
+    public void shouldCreateBatchOfMessages() {
+        //given message already stored in repository
+        repository.create(message("Single", "10.0.0.1"));
+        //when batch of messages is created at once
+        List<Message> created = repository.createAll(Arrays.asList(message("Batch disk", "10.0.0.2"),
+                message("Batch memory", "10.0.0.2")));
+        //then messages are stored after existing one in order of the batch
+        assertThat(repository.size(), is(3));
+        assertThat(repository.get(1, 2, Projection.ALL).get(0).getEntityId(), is(created.get(0).getEntityId()));
+        assertThat(repository.get(1, 2, Projection.ALL).get(1).getEntityId(), is(created.get(1).getEntityId()));
+        assertThat(repository.find(created.get(1).getEntityId(), Projection.ALL).getTitle(), is("Batch memory"));
+        //and messages are indexed
+        assertThat(repository.query(Criteria.criteria().withSender("10.0.0.2"), null, 10, Projection.ALL).getElements().size(), is(2));
+        assertThat(repository.search("disk", null, 10, Projection.ALL).getElements().get(0).getEntityId(), is(created.get(0).getEntityId()));
+    }
+
+    @Test
+    public void shouldSearchMessagesByWords() {
+        //given messages with different titles are stored in repository
+        repository.create(message("Disk failure", "10.0.0.1"));
+        repository.create(message("Memory warning", "10.0.0.1"));
+        Message expected = repository.create(message("Disk failure: disk full", "10.0.0.2"));
+        //when searching messages by words
+        Slice<Message> found = repository.search("disk", null, 1, Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID));
+        //then the most relevant message is returned first
+        assertThat(found.getElements().size(), is(1));
+        assertThat(found.getElements().get(0).getEntityId(), is(expected.getEntityId()));
+        assertThat(found.getElements().get(0).getTitle(), is(nullValue()));
+        //and next page contains less relevant message
+        Slice<Message> next = repository.search("disk", found.getNextToken(), 1, Projection.ALL);
+        assertThat(next.getElements().get(0).getTitle(), is("Disk failure"));
+        assertThat(next.getNextToken(), is(nullValue()));
+    }
+
+    @Test(timeout = 60000)
+    public void shouldCreateAndReadMessagesConcurrently() throws Exception {
+        //given writers and readers working at the same time
+        final int writers = 8;
+        final int messagesPerWriter = 2000;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicBoolean readFailed = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 4);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writes = new ArrayList<Future<?>>();
+        for (int w = 0; w < writers; w++) {
+            final boolean batches = w % 2 == 1;
+            writes.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    for (int i = 0; i < messagesPerWriter; i += 10) {
+                        if (batches) {
+                            List<Message> batch = new ArrayList<Message>();
+                            for (int j = 0; j < 10; j++) {
+                                batch.add(sampleMessage());
+                            }
+                            repository.createAll(batch);
+                        } else {
+                            for (int j = 0; j < 10; j++) {
+                                repository.create(sampleMessage());
+                            }
+                        }
+                    }
+                    return null;
+                }
+            }));
+        }
+        List<Future<?>> reads = new ArrayList<Future<?>>();
+        for (int r = 0; r < 4; r++) {
+            reads.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    while (writing.get()) {
+                        int size = repository.size();
+                        int first = Math.max(0, size - 10);
+                        for (Message msg : repository.get(first, 10, Projection.ALL)) {
+                            if (msg.getEntityId() == null || !"Title666".equals(msg.getTitle())) {
+                                readFailed.set(true);
+                            } else if (repository.find(msg.getEntityId(), Projection.ALL) == null) {
+                                // listed message must be found by its self link
+                                readFailed.set(true);
+                            }
+                        }
+                    }
+                    return null;
+                }
+            }));
+        }
+        //when all messages are created
+        start.countDown();
+        for (Future<?> write : writes) {
+            write.get();
+        }
+        writing.set(false);
+        for (Future<?> read : reads) {
+            read.get();
+        }
+        executor.shutdown();
+        //then readers have seen only complete messages that could be found by ID
+        assertThat(readFailed.get(), is(false));
+        //and all messages are stored exactly once
+        int expected = writers * messagesPerWriter;
+        assertThat(repository.size(), is(expected));
+        Set<String> ids = new HashSet<String>();
+        for (Message msg : repository.get(0, expected, Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID))) {
+            ids.add(msg.getEntityId());
+            assertThat(repository.find(msg.getEntityId(), Projection.ALL), is(notNullValue()));
+        }
+        assertThat(ids.size(), is(expected));
+    }
+
+    /**
+     * Create message with chosen fields
+     *
+     * @param title  title of message
+     * @param sender sender of message
+     * @return non-nullable instance of message
+     */
+    private Message message(String title, String sender) {
+        Message msg = sampleMessage();
+        msg.setTitle(title);
+        msg.setSender(sender);
+        return msg;
+    }
+
     /**
      * Create message with sample fields
      *
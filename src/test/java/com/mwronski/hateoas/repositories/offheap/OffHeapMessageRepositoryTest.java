@@ -0,0 +1,158 @@
+package com.mwronski.hateoas.repositories.offheap;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
+import com.mwronski.hateoas.repositories.Slice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test cases for off-heap message repository
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.offheap.OffHeapMessageRepository
+ */
+public class OffHeapMessageRepositoryTest {
+
+    private static final int SMALL_SLAB_SIZE = 4096;
+
+    private final OffHeapMessageRepository repository = new OffHeapMessageRepository(SMALL_SLAB_SIZE);
+
+    @Test
+    public void shouldFindMessagesWithAllFields() {
+        //given sample message is stored in repository
+        Message msg = repository.create(sampleMessage(1));
+        //when searching message with chosen ID and all fields
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.ALL);
+        //then message is found with all fields
+        assertThat(foundMsg.getEntityId(), is(msg.getEntityId()));
+        assertThat(foundMsg.getTitle(), is(msg.getTitle()));
+        assertThat(foundMsg.getContent(), is(msg.getContent()));
+        assertThat(foundMsg.getSender(), is(msg.getSender()));
+        //and unknown message isn't found
+        assertThat(repository.find("unknown", Projection.ALL), is(nullValue()));
+    }
+
+    @Test
+    public void shouldFindMessagesWithChosenFields() {
+        //given sample message is stored in repository
+        Message msg = repository.create(sampleMessage(1));
+        //when searching message with chosen fields
+        Message foundMsg = repository.find(msg.getEntityId(), Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID, "sender"));
+        //then only chosen fields are set
+        assertThat(foundMsg.getEntityId(), is(msg.getEntityId()));
+        assertThat(foundMsg.getSender(), is(msg.getSender()));
+        assertThat(foundMsg.getTitle(), is(nullValue()));
+        assertThat(foundMsg.getContent(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepMessagesInManySlabs() {
+        //given more messages than single slab can keep
+        List<Message> created = createMessages(500);
+        //when reading messages
+        List<Message> found = repository.get(0, 1000, Projection.ALL);
+        Slice<Message> slice = repository.scroll(null, 100, Projection.ALL);
+        //then messages are read in order of creation
+        assertThat(repository.allocatedBytes() > SMALL_SLAB_SIZE, is(true));
+        assertThat(found.size(), is(500));
+        assertThat(slice.getElements().size(), is(100));
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(found.get(i).getEntityId(), is(created.get(i).getEntityId()));
+            assertThat(repository.find(created.get(i).getEntityId(), Projection.ALL).getTitle(), is("title " + i));
+        }
+    }
+
+    @Test
+    public void shouldCreateBatchSpanningSlabs() {
+        //given batch of messages bigger than single slab
+        List<Message> batch = new ArrayList<Message>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(sampleMessage(i));
+        }
+        //when messages are created at once
+        List<Message> created = repository.createAll(batch);
+        //then all messages are stored in order of the batch
+        assertThat(repository.allocatedBytes() > SMALL_SLAB_SIZE, is(true));
+        assertThat(repository.size(), is(500));
+        List<Message> found = repository.get(0, 1000, Projection.ALL);
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(found.get(i).getTitle(), is("title " + i));
+            assertThat(repository.find(created.get(i).getEntityId(), Projection.ALL).getTitle(), is("title " + i));
+        }
+    }
+
+    @Test
+    public void shouldFindAllMessages() {
+        //given stored messages
+        List<Message> created = createMessages(3);
+        //when searching messages by IDs
+        List<Message> found = repository.findAll(Arrays.asList(created.get(1).getEntityId(), "unknown"), Projection.of(Message.class, "title"));
+        //then known messages are returned
+        assertThat(found.size(), is(1));
+        assertThat(found.get(0).getTitle(), is("title 1"));
+    }
+
+    @Test
+    public void shouldCreateMessagesConcurrently() throws Exception {
+        //given writers creating messages at the same time
+        final int writers = 4;
+        final int messages = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<List<Message>>> results = new ArrayList<Future<List<Message>>>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                results.add(executor.submit(new Callable<List<Message>>() {
+                    @Override
+                    public List<Message> call() {
+                        return createMessages(messages);
+                    }
+                }));
+            }
+            //when all writers are finished
+            List<Message> created = new ArrayList<Message>();
+            for (Future<List<Message>> result : results) {
+                created.addAll(result.get());
+            }
+            //then every message can be found
+            assertThat(repository.size(), is(writers * messages));
+            for (Message msg : created) {
+                assertThat(repository.find(msg.getEntityId(), Projection.of(Message.class, ResourceEntity.COLUMN_ENTITY_ID)).getEntityId(),
+                        is(msg.getEntityId()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Message> createMessages(int count) {
+        List<Message> created = new ArrayList<Message>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(repository.create(sampleMessage(i)));
+        }
+        return created;
+    }
+
+    private static Message sampleMessage(int i) {
+        return message()
+                .withTitle("title " + i)
+                .withContent("content of message " + i)
+                .withSender("10.0.0." + (i % 255))
+                .build();
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.mwronski.hateoas.repositories.search;
+
+import com.mwronski.hateoas.model.Message;
+import com.mwronski.hateoas.repositories.Slice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.mwronski.hateoas.model.builder.Builders.message;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test cases for full-text index
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.repositories.search.TextIndex
+ */
+public class TextIndexTest {
+
+    private static final String[] WORDS = {"alpha", "beta", "gamma", "delta", "error", "disk", "memory", "network", "cpu", "load"};
+
+    private final TextIndex index = new TextIndex();
+
+    @Test
+    public void shouldSplitTextIntoTerms() {
+        //when text is split into terms
+        Map<String, Integer> terms = Tokenizer.frequencies("Disk FULL: disk-42 is full!", null, "\u017B\u00F3\u0142w");
+        //then terms are lower-cased words with their frequencies without common words
+        assertThat(new ArrayList<String>(terms.keySet()), is(Arrays.asList("disk", "full", "42", "\u017C\u00F3\u0142w")));
+        assertThat(terms.get("disk"), is(2));
+        assertThat(terms.get("full"), is(2));
+    }
+
+    @Test
+    public void shouldRankMessagesByRelevance() {
+        //given messages with different number of searched words
+        add("Disk failure", "disk is broken");
+        add("Memory warning", "memory usage is high");
+        add("Disk", "disk disk disk");
+        add("Network", "nothing about storage");
+        //when searching messages by words
+        Slice<Integer> found = index.search("disk", null, 10, 4);
+        //then only messages with words are found from the most relevant one
+        assertThat(found.getElements(), is(Arrays.asList(2, 0)));
+        assertThat(found.hasPrevious(), is(false));
+        assertThat(found.hasNext(), is(false));
+        //and messages with any of words are found
+        assertThat(index.search("DISK memory", null, 10, 4).getElements().size(), is(3));
+        //and unknown words don't match any messages
+        assertThat(index.search("unknown", null, 10, 4).getElements().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldFindTheSameMessagesAsFullScan() {
+        //given many messages with random words, so many blocks of postings are skipped
+        Random random = new Random(42);
+        List<Map<String, Integer>> texts = new ArrayList<Map<String, Integer>>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int words = 1 + random.nextInt(12); words > 0; words--) {
+                content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            Message msg = add("title " + i, content.toString());
+            texts.add(Tokenizer.frequencies(msg.getTitle(), msg.getContent()));
+        }
+        for (String text : new String[]{"error", "disk memory", "cpu load network", "title 42"}) {
+            //when searching messages
+            List<Integer> found = new ArrayList<Integer>();
+            Slice<Integer> page = index.search(text, null, 50, texts.size());
+            found.addAll(page.getElements());
+            page = index.search(text, page.getNextToken(), 50, texts.size());
+            found.addAll(page.getElements());
+            //then the best messages are the same as the best messages of full scan
+            assertThat(found, is(fullScan(texts, text, 100)));
+        }
+    }
+
+    @Test
+    public void shouldPageThroughRankedMessages() {
+        //given messages with searched word
+        for (int i = 0; i < 25; i++) {
+            add("Alert " + i, "alert");
+        }
+        //when paging through found messages
+        Slice<Integer> first = index.search("alert", null, 10, 25);
+        Slice<Integer> second = index.search("alert", first.getNextToken(), 10, 25);
+        Slice<Integer> third = index.search("alert", second.getNextToken(), 10, 25);
+        //then all messages are found once
+        assertThat(first.getElements().size(), is(10));
+        assertThat(second.getElements().size(), is(10));
+        assertThat(third.getElements().size(), is(5));
+        assertThat(third.getNextToken(), is(nullValue()));
+        assertThat(index.search("alert", third.getPreviousToken(), 10, 25).getElements(), is(second.getElements()));
+        //and messages with equal scores are returned in order of creation
+        assertThat(first.getElements().get(0), lessThan(first.getElements().get(1)));
+    }
+
+    @Test
+    public void shouldSkipMessagesNotTakenIntoAccount() {
+        //given messages added to index
+        add("Alert", "first");
+        add("Alert", "second");
+        //when searching only messages published by repository
+        Slice<Integer> found = index.search("alert", null, 10, 1);
+        //then only published messages are found
+        assertThat(found.getElements(), is(Collections.singletonList(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectTextWithoutTerms() {
+        //when searching text without any words
+        index.search(" ?! ", null, 10, 0);
+        //then exception is thrown
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPagingTooFar() {
+        //when searching messages far behind the limit of results
+        index.search("alert", "zz", 10, 0);
+        //then exception is thrown
+    }
+
+    private Message add(String title, String content) {
+        Message msg = message().withTitle(title).withContent(content).build();
+        index.add(TextIndex.termsOf(msg), index.size());
+        return msg;
+    }
+
+    /**
+     * Score all messages without using postings
+     *
+     * @param texts terms of messages
+     * @param text  searched text
+     * @param count number of the best messages
+     * @return positions of the best messages from the best one
+     */
+    private static List<Integer> fullScan(List<Map<String, Integer>> texts, String text, int count) {
+        long totalLength = 0;
+        for (Map<String, Integer> terms : texts) {
+            totalLength += lengthOf(terms);
+        }
+        Bm25 scoring = new Bm25((float) totalLength / texts.size());
+        final float[] scores = new float[texts.size()];
+        List<Integer> matching = new ArrayList<Integer>();
+        for (String term : Tokenizer.frequencies(text).keySet()) {
+            int withTerm = 0;
+            for (Map<String, Integer> terms : texts) {
+                withTerm += terms.containsKey(term) ? 1 : 0;
+            }
+            float idf = Bm25.idf(texts.size(), withTerm);
+            for (int i = 0; i < texts.size(); i++) {
+                Integer frequency = texts.get(i).get(term);
+                if (frequency != null) {
+                    scores[i] += scoring.score(idf, frequency, lengthOf(texts.get(i)));
+                    if (!matching.contains(i)) {
+                        matching.add(i);
+                    }
+                }
+            }
+        }
+        Collections.sort(matching, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                int result = Float.compare(scores[second], scores[first]);
+                return result != 0 ? result : first.compareTo(second);
+            }
+        });
+        return matching.subList(0, Math.min(count, matching.size()));
+    }
+
+    private static int lengthOf(Map<String, Integer> terms) {
+        int length = 0;
+        for (int frequency : terms.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.mwronski.hateoas.services;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
+/**
+ * Test cases checking that links created by factory are the same as links created by ControllerLinkBuilder.
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.services.LinkFactory
+ */
+public class LinkFactoryTest {
+
+    private final LinkFactory links = new LinkFactory(ReadService.class);
+
+    @Before
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/messages/1");
+        request.setServerName("example.com");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldCreateElementLink() {
+        assertThat(links.element("123"),
+                is(linkTo(methodOn(ReadService.class).find("123", null)).withSelfRel()));
+    }
+
+    @Test
+    public void shouldCreatePageLinks() {
+        assertThat(links.page(2, null, new String[0], Link.REL_SELF),
+                is(linkTo(methodOn(ReadService.class).get(2, null, null)).withSelfRel()));
+        assertThat(links.page(1, 20, null, Link.REL_PREVIOUS),
+                is(linkTo(methodOn(ReadService.class).get(1, 20, null, (String[]) null)).withRel("prev")));
+        assertThat(links.page(3, 20, new String[]{"title", "sender"}, Link.REL_NEXT),
+                is(linkTo(methodOn(ReadService.class).get(3, 20, null, "title", "sender")).withRel("next")));
+    }
+
+    @Test
+    public void shouldCreateCursorLinks() {
+        assertThat(links.cursor(null, null, new String[0], Link.REL_SELF),
+                is(linkTo(methodOn(ReadService.class).scroll(null, null)).withSelfRel()));
+        assertThat(links.cursor("2s", 5, new String[]{"title"}, Link.REL_NEXT),
+                is(linkTo(methodOn(ReadService.class).scroll("2s", 5, "title")).withRel("next")));
+    }
+
+    @Test
+    public void shouldCreateBulkLinks() {
+        assertThat(links.bulk(new String[]{"1", "2"}, null, null, null, new String[0], Link.REL_SELF),
+                is(linkTo(methodOn(ReadService.class).getBulk(new String[]{"1", "2"}, null, null, null)).withSelfRel()));
+        assertThat(links.bulk(null, 3, 4, 10, new String[]{"content"}, Link.REL_NEXT),
+                is(linkTo(methodOn(ReadService.class).getBulk(null, 3, 4, 10, "content")).withRel("next")));
+    }
+
+    @Test
+    public void shouldEncodeValuesWithReservedCharacters() {
+        assertThat(links.page(2, 20, new String[]{"x&size=1000", "a b#c"}, Link.REL_NEXT),
+                is(linkTo(methodOn(ReadService.class).get(2, 20, null, "x&size=1000", "a b#c")).withRel("next")));
+        assertThat(links.cursor("2s=&#", 5, new String[]{"tytu\u0142"}, Link.REL_NEXT),
+                is(linkTo(methodOn(ReadService.class).scroll("2s=&#", 5, "tytu\u0142")).withRel("next")));
+        assertThat(links.bulk(new String[]{"1&2", "\u0105 \u0119"}, null, null, null, new String[]{"title=1"}, Link.REL_SELF),
+                is(linkTo(methodOn(ReadService.class).getBulk(new String[]{"1&2", "\u0105 \u0119"}, null, null, null, "title=1")).withSelfRel()));
+    }
+
+    @Test
+    public void shouldNotAddParametersSentAsValues() {
+        // when
+        Link link = links.page(1, null, new String[]{"x&size=1000"}, Link.REL_SELF);
+        // then
+        assertThat(link.getHref().contains("&size="), is(false));
+    }
+
+    @Test
+    public void shouldFollowBaseUriOfRequest() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/messages/1");
+        request.setContextPath("/app");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        // when
+        Link link = links.element("123");
+        // then
+        assertThat(link, is(linkTo(methodOn(ReadService.class).find("123", null)).withSelfRel()));
+    }
+
+}
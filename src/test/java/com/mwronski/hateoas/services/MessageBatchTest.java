@@ -0,0 +1,85 @@
+package com.mwronski.hateoas.services;
+
+import com.mwronski.hateoas.model.Message;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test cases for reading messages from body of batch request
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.services.MessageBatch
+ */
+public class MessageBatchTest {
+
+    @Test
+    public void shouldReadMessagesFromJsonArray() throws IOException {
+        //given JSON array with valid and invalid messages
+        String body = "[{\"title\":\"first\",\"content\":\"text\",\"sender\":\"ignored\"}, 42, {\"content\":\"no title\"},"
+                + " {\"title\":\"second\"}]";
+        //when batch is read
+        MessageBatch batch = MessageBatch.read(bodyOf(body), false, "10.0.0.1", true, 10);
+        //then valid messages are read in order of the batch
+        assertThat(batch.getMessages().size(), is(2));
+        Message first = batch.getMessages().get(0);
+        assertThat(first.getTitle(), is("first"));
+        assertThat(first.getContent(), is("text"));
+        assertThat(first.getSender(), is("10.0.0.1"));
+        assertThat(batch.getMessages().get(1).getContent(), is(nullValue()));
+        //and invalid elements are reported with their positions
+        assertThat(batch.getErrors().size(), is(2));
+        assertThat(batch.getErrors().get(0).getIndex(), is(1));
+        assertThat(batch.getErrors().get(1).getIndex(), is(2));
+        assertThat(batch.getErrors().get(1).getMessage(), is("Title must be given"));
+    }
+
+    @Test
+    public void shouldReadMessagesFromNdjsonLines() throws IOException {
+        //given NDJSON with malformed line and empty line
+        String body = "{\"title\":\"first\",\"content\":\"text\"}\n{\"title\":\n\n{\"title\":\"second\"}\n";
+        //when batch is read without content of messages
+        MessageBatch batch = MessageBatch.read(bodyOf(body), true, "10.0.0.1", false, 10);
+        //then valid lines are read as messages
+        assertThat(batch.getMessages().size(), is(2));
+        assertThat(batch.getMessages().get(0).getContent(), is(nullValue()));
+        assertThat(batch.getMessages().get(1).getTitle(), is("second"));
+        //and malformed line is reported as error of single element
+        assertThat(batch.getErrors().size(), is(1));
+        assertThat(batch.getErrors().get(0).getIndex(), is(1));
+        assertThat(batch.getErrors().get(0).getMessage(), is("Malformed JSON"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectTooBigBatch() throws IOException {
+        //when batch has more elements than allowed
+        MessageBatch.read(bodyOf("[{\"title\":\"1\"},{\"title\":\"2\"},{\"title\":\"3\"}]"), false, "10.0.0.1", true, 2);
+        //then exception is thrown
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBodyThatIsNotArray() throws IOException {
+        //when body is single JSON object
+        MessageBatch.read(bodyOf("{\"title\":\"1\"}"), false, "10.0.0.1", true, 10);
+        //then exception is thrown
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptyBatch() throws IOException {
+        //when batch has no elements
+        MessageBatch.read(bodyOf("[]"), false, "10.0.0.1", true, 10);
+        //then exception is thrown
+    }
+
+    private static InputStream bodyOf(String body) throws IOException {
+        return new ByteArrayInputStream(body.getBytes("UTF-8"));
+    }
+
+}
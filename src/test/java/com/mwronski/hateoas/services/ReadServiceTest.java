@@ -1,22 +1,37 @@
 package com.mwronski.hateoas.services;
 
 import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.Slice;
+import org.junit.Before;
 import org.junit.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import static org.mockito.Matchers.anyVararg;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -65,19 +80,39 @@ public abstract class ReadServiceTest<T extends ResourceEntity> {
      */
     protected abstract T sampleElement();
 
+    /**
+     * Perform request handled asynchronously by service and dispatch its result as container does
+     *
+     * @param requestBuilder request to be performed
+     * @return non-nullable result of dispatched request
+     * @throws Exception if request couldn't be performed
+     */
+    protected final ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc().perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc().perform(asyncDispatch(started));
+    }
+
+    @Before
+    public void resetRepository() {
+        //repository is shared by all tests using the same context
+        reset(mockRepository());
+    }
+
     @Test
     public void shouldFindElement() throws Exception {
         //given element can be found in repository
         T element = sampleElement();
-        when(mockRepository().find(eq(sampleElement().getEntityId()), (String[]) anyVararg())).thenReturn(element);
+        when(mockRepository().find(eq(sampleElement().getEntityId()), any(Projection.class))).thenReturn(element);
         //when searching element with chosen ID using service in chosen version
-        ResultActions result = mockMvc().perform(get("/message/" + element.getEntityId()).accept(acceptVndVersion()));
+        ResultActions result = performAsync(get("/message/" + element.getEntityId()).accept(acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
         result.andExpect(content().contentType(acceptVndVersion()));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), any(Projection.class));
         verifyNoMoreInteractions(mockRepository());
     }
 
@@ -87,18 +122,222 @@ public abstract class ReadServiceTest<T extends ResourceEntity> {
         T element = sampleElement();
         List<T> elements = new ArrayList<T>();
         elements.add(element);
-        when(mockRepository().get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), (String[]) anyVararg())).thenReturn(elements);
+        when(mockRepository().get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class))).thenReturn(elements);
         when(mockRepository().size()).thenReturn(elements.size());
         //when getting first page of elements using service in chosen version
-        ResultActions result = mockMvc().perform(get("/messages/1").accept(acceptVndVersion()));
+        ResultActions result = performAsync(get("/messages/1").accept(acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
         result.andExpect(content().contentType(acceptVndVersion()));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class));
+        verify(mockRepository(), atLeastOnce()).size();
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldScrollElements() throws Exception {
+        //given one element and token of following elements can be found in repository
+        T element = sampleElement();
+        List<T> elements = new ArrayList<T>();
+        elements.add(element);
+        Slice<T> slice = new Slice<T>(elements, null, "next-token");
+        when(mockRepository().scroll((String) isNull(), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class))).thenReturn(slice);
+        //when getting first elements using cursor and service in chosen version
+        ResultActions result = performAsync(get("/messages").accept(acceptVndVersion()));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and response is in proper VND and version
+        result.andExpect(content().contentType(acceptVndVersion()));
+        //and links for scrolling are set properly
+        result.andExpect(jsonPath("$.links[0].rel").value("self"));
+        result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages"));
+        result.andExpect(jsonPath("$.links[1].rel").value("next"));
+        result.andExpect(jsonPath("$.links[1].href").value("http://localhost/messages?cursor=next-token"));
+        //and data is taken from repository without counting elements
+        verify(mockRepository(), atLeastOnce()).scroll((String) isNull(), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldLimitPageSize() throws Exception {
+        //given many elements can be found in repository
+        List<T> elements = new ArrayList<T>();
+        elements.add(sampleElement());
+        when(mockRepository().get(eq(0), eq(ReadService.DEFAULT_MAX_PAGE_SIZE), any(Projection.class))).thenReturn(elements);
+        when(mockRepository().size()).thenReturn(1000);
+        //when getting first page bigger than allowed maximum
+        ResultActions result = performAsync(get("/messages/1").param("size", "5000").accept(acceptVndVersion()));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and link to next page keeps limited page size
+        result.andExpect(jsonPath("$.links[1].rel").value("next"));
+        result.andExpect(jsonPath("$.links[1].href").value("http://localhost/messages/2?size=" + ReadService.DEFAULT_MAX_PAGE_SIZE));
+        //and data is taken from repository using limited page size
+        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(ReadService.DEFAULT_MAX_PAGE_SIZE), any(Projection.class));
         verify(mockRepository(), atLeastOnce()).size();
         verifyNoMoreInteractions(mockRepository());
     }
 
+    @Test
+    public void shouldGetElementsInBulk() throws Exception {
+        //given element can be found in repository
+        T element = sampleElement();
+        List<String> ids = Arrays.asList(element.getEntityId(), "unknown");
+        List<T> elements = new ArrayList<T>();
+        elements.add(element);
+        when(mockRepository().findAll(eq(ids), any(Projection.class))).thenReturn(elements);
+        //when getting chosen elements at once
+        ResultActions result = performAsync(get("/messages/bulk")
+                .param("ids", element.getEntityId(), "unknown")
+                .accept(acceptVndVersion()));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and response is in proper VND and version
+        result.andExpect(content().contentType(acceptVndVersion()));
+        //and found elements have self links
+        result.andExpect(jsonPath("$.resources[0].links[0].href").value("http://localhost/message/" + element.getEntityId()));
+        //and data is taken from repository using single call
+        verify(mockRepository(), times(1)).findAll(eq(ids), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldStreamElementsAsLines() throws Exception {
+        //given elements can be found in repository
+        List<T> elements = new ArrayList<T>();
+        elements.add(sampleElement());
+        elements.add(sampleElement());
+        when(mockRepository().iterate(eq(0), any(Projection.class))).thenReturn(elements.iterator());
+        //when streaming elements using service in chosen version
+        ResultActions result = mockMvc().perform(get("/messages/stream").accept(acceptVndVersion()));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and each element with its self link is written in separate line
+        result.andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+        result.andExpect(content().string(containsString("\"entityId\":\"" + sampleElement().getEntityId() + "\"")));
+        result.andExpect(content().string(containsString("}\n{")));
+        result.andExpect(content().string(containsString("http://localhost/message/" + sampleElement().getEntityId())));
+        //and data is taken from repository
+        verify(mockRepository(), atLeastOnce()).iterate(eq(0), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldStreamElementsAsCollection() throws Exception {
+        //given elements can be found in repository
+        List<T> elements = new ArrayList<T>();
+        elements.add(sampleElement());
+        when(mockRepository().iterate(eq(0), any(Projection.class))).thenReturn(elements.iterator());
+        //when streaming elements as single collection using service in chosen version
+        ResultActions result = mockMvc().perform(get("/messages/stream").param("format", "hal").accept(acceptVndVersion()));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and response is in proper VND and version
+        result.andExpect(content().contentType(acceptVndVersion() + ";charset=UTF-8"));
+        //and elements are written as collection with self link
+        result.andExpect(jsonPath("$.resources[0].entityId").value(sampleElement().getEntityId()));
+        result.andExpect(jsonPath("$.links[0].rel").value("self"));
+        result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/stream?format=hal"));
+        //and data is taken from repository
+        verify(mockRepository(), atLeastOnce()).iterate(eq(0), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldNotReturnElementKnownByClient() throws Exception {
+        //given element can be found in repository
+        T element = sampleElement();
+        when(mockRepository().find(eq(element.getEntityId()), any(Projection.class))).thenReturn(element);
+        //and client has already got the element
+        String eTag = performAsync(get("/message/" + element.getEntityId()).accept(acceptVndVersion()))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn().getResponse().getHeader("ETag");
+        //when searching the same element again
+        ResultActions result = performAsync(get("/message/" + element.getEntityId())
+                .accept(acceptVndVersion())
+                .header("If-None-Match", eTag));
+        //then element is not modified
+        result.andExpect(status().is(HttpStatus.NOT_MODIFIED.value()));
+        result.andExpect(header().string("ETag", eTag));
+        //and existence of element is checked for both requests
+        verify(mockRepository(), times(2)).find(eq(element.getEntityId()), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldNotFindUnknownElementMatchingAnyTag() throws Exception {
+        //given element can't be found in repository
+        when(mockRepository().find(eq("unknown"), any(Projection.class))).thenReturn(null);
+        //when searching the element with condition matching any tag
+        ResultActions result = performAsync(get("/message/unknown")
+                .accept(acceptVndVersion())
+                .header("If-None-Match", "*"));
+        //then element is not found
+        result.andExpect(status().is(HttpStatus.NOT_FOUND.value()));
+    }
+
+    @Test
+    public void shouldTagRepresentationsOfElementSeparately() throws Exception {
+        //given element can be found in repository
+        T element = sampleElement();
+        when(mockRepository().find(eq(element.getEntityId()), any(Projection.class))).thenReturn(element);
+        //when element is taken in JSON and XML
+        String jsonETag = performAsync(get("/message/" + element.getEntityId()).accept(acceptVndVersion()))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        String xmlETag = performAsync(get("/message/" + element.getEntityId()).accept(acceptVndVersion().replace("+json", "+xml")))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        //then representations have different tags
+        assertThat(jsonETag, is(not(xmlETag)));
+    }
+
+    @Test
+    public void shouldNotReturnPageKnownByClient() throws Exception {
+        //given one element can be found in repository
+        List<T> elements = new ArrayList<T>();
+        elements.add(sampleElement());
+        when(mockRepository().get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class))).thenReturn(elements);
+        when(mockRepository().size()).thenReturn(elements.size());
+        //and client has already got the first page
+        String eTag = performAsync(get("/messages/1").accept(acceptVndVersion()))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn().getResponse().getHeader("ETag");
+        //when getting the same page again
+        ResultActions result = performAsync(get("/messages/1")
+                .accept(acceptVndVersion())
+                .header("If-None-Match", eTag));
+        //then page is not modified
+        result.andExpect(status().is(HttpStatus.NOT_MODIFIED.value()));
+        //and elements are taken from repository only once
+        verify(mockRepository(), times(1)).get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class));
+        verify(mockRepository(), times(2)).size();
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldReturnPageChangedByNewElement() throws Exception {
+        //given one element can be found in repository
+        List<T> elements = new ArrayList<T>();
+        elements.add(sampleElement());
+        when(mockRepository().get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class))).thenReturn(elements);
+        when(mockRepository().size()).thenReturn(elements.size());
+        //and client has already got the first page
+        String eTag = performAsync(get("/messages/1").accept(acceptVndVersion()))
+                .andReturn().getResponse().getHeader("ETag");
+        //when new element is created and the same page is taken again
+        when(mockRepository().size()).thenReturn(elements.size() + 1);
+        ResultActions result = performAsync(get("/messages/1")
+                .accept(acceptVndVersion())
+                .header("If-None-Match", eTag));
+        //then page is returned again
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and elements are taken from repository for both requests
+        verify(mockRepository(), times(2)).get(eq(0), eq(ReadService.DEFAULT_PAGE_SIZE), any(Projection.class));
+        verify(mockRepository(), times(2)).size();
+        verifyNoMoreInteractions(mockRepository());
+    }
+
 }
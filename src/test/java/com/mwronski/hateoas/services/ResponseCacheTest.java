@@ -0,0 +1,104 @@
+package com.mwronski.hateoas.services;
+
+import com.google.common.base.Supplier;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test cases for cache of encoded responses
+ *
+ * @author Michal Wronski
+ * @date 18-10-2026
+ * @see com.mwronski.hateoas.services.ResponseCache
+ */
+public class ResponseCacheTest {
+
+    private static final MediaType TEXT = MediaType.TEXT_PLAIN;
+
+    private final ResponseCache cache = new ResponseCache(1024 * 1024,
+            Arrays.<HttpMessageConverter<?>>asList(new StringHttpMessageConverter()));
+
+    @Test
+    public void shouldRenderResponseOnceForTheSameVersion() {
+        //given response is cached
+        CountingRenderer renderer = new CountingRenderer("page 1");
+        cache.get(ResponseCache.key(TEXT, "page", 1), 10, renderer);
+        //when the same version of response is taken again
+        ResponseCache.Encoded response = cache.get(ResponseCache.key(TEXT, "page", 1), 10, renderer);
+        //then cached body is returned
+        assertThat(new String(response.getBody()), is("page 1"));
+        assertThat(response.getContentType().getSubtype(), is("plain"));
+        assertThat(renderer.renderings.get(), is(1));
+    }
+
+    @Test
+    public void shouldRenderResponseAgainWhenVersionChanges() {
+        //given response is cached
+        CountingRenderer renderer = new CountingRenderer("page 1");
+        cache.get(ResponseCache.key(TEXT, "page", 1), 10, renderer);
+        //when other version of response is taken
+        cache.get(ResponseCache.key(TEXT, "page", 1), 11, renderer);
+        cache.get(ResponseCache.key(TEXT, "page", 1), 11, renderer);
+        //then stale response is replaced once
+        assertThat(renderer.renderings.get(), is(2));
+    }
+
+    @Test
+    public void shouldCacheResponsesSeparatelyByKeys() {
+        //given responses with different keys
+        CountingRenderer renderer = new CountingRenderer("page");
+        cache.get(ResponseCache.key(TEXT, "page", 1, new String[]{"title"}), 10, renderer);
+        cache.get(ResponseCache.key(TEXT, "page", 1, new String[]{"content"}), 10, renderer);
+        //when responses are taken again with equal keys
+        cache.get(ResponseCache.key(TEXT, "page", 1, new String[]{"title"}), 10, renderer);
+        cache.get(ResponseCache.key(TEXT, "page", 1, new String[]{"content"}), 10, renderer);
+        //then each of them is rendered once
+        assertThat(renderer.renderings.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotCacheNullAndEmptyBodies() {
+        //given renderers of null and empty bodies
+        CountingRenderer nullRenderer = new CountingRenderer(null);
+        CountingRenderer emptyRenderer = new CountingRenderer("");
+        //when responses are taken twice
+        cache.get(ResponseCache.key(TEXT, "null"), 10, nullRenderer);
+        ResponseCache.Encoded nullResponse = cache.get(ResponseCache.key(TEXT, "null"), 10, nullRenderer);
+        cache.get(ResponseCache.key(TEXT, "empty"), 10, emptyRenderer);
+        ResponseCache.Encoded emptyResponse = cache.get(ResponseCache.key(TEXT, "empty"), 10, emptyRenderer);
+        //then bodies are rendered each time without being cached
+        assertThat(nullResponse, is(nullValue()));
+        assertThat(emptyResponse.getBody().length, is(0));
+        assertThat(nullRenderer.renderings.get(), is(2));
+        assertThat(emptyRenderer.renderings.get(), is(2));
+    }
+
+    /**
+     * Renderer counting created bodies
+     */
+    private static final class CountingRenderer implements Supplier<String> {
+
+        private final String body;
+        private final AtomicInteger renderings = new AtomicInteger();
+
+        CountingRenderer(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public String get() {
+            renderings.incrementAndGet();
+            return body;
+        }
+    }
+
+}
@@ -2,7 +2,7 @@ package com.mwronski.hateoas.services.v1;
 
 import com.mwronski.hateoas.RestApplicationTest;
 import com.mwronski.hateoas.model.Message;
-import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
 import com.mwronski.hateoas.services.ReadServiceTest;
 import org.junit.Before;
@@ -22,7 +22,7 @@ import org.springframework.web.context.WebApplicationContext;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -59,9 +59,9 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
     public void shouldFindElementWithProperFieldsReturned() throws Exception {
         //given element can be found in repository
         Message message = sampleElement();
-        when(mockRepository().find(eq(sampleElement().getEntityId()), (String[]) anyVararg())).thenReturn(message);
+        when(mockRepository().find(eq(sampleElement().getEntityId()), any(Projection.class))).thenReturn(message);
         //when searching element with chosen ID using service in chosen version
-        ResultActions result = mockMvc().perform(get("/message/" + message.getEntityId()).accept(acceptVndVersion()).header("Accept", acceptVndVersion()));
+        ResultActions result = performAsync(get("/message/" + message.getEntityId()).accept(acceptVndVersion()).header("Accept", acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
@@ -75,7 +75,7 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].rel").value("self"));
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/message/" + message.getEntityId()));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), any(Projection.class));
         verifyNoMoreInteractions(mockRepository());
     }
 
@@ -85,10 +85,10 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
         Message message = sampleElement();
         List<Message> elements = new ArrayList<Message>();
         elements.add(message);
-        when(mockRepository().get(eq(0), eq(10), (String[]) anyVararg())).thenReturn(elements);
+        when(mockRepository().get(eq(0), eq(10), any(Projection.class))).thenReturn(elements);
         when(mockRepository().size()).thenReturn(elements.size());
         //when getting first page of elements using service in chosen version
-        ResultActions result = mockMvc().perform(get("/messages/1").accept(acceptVndVersion()));
+        ResultActions result = performAsync(get("/messages/1").accept(acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
@@ -105,7 +105,7 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].rel").value("self"));
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/1?includeFields="));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), any(Projection.class));
         verify(mockRepository(), atLeastOnce()).size();
         verifyNoMoreInteractions(mockRepository());
     }
@@ -115,11 +115,8 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
         //given message that will be created
         Message message = sampleElement();
         when(mockRepository().create(any(Message.class))).thenReturn(message);
-        Message msgId = new Message();
-        msgId.setEntityId(message.getEntityId());
-        when(mockRepository.find(message.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID)).thenReturn(msgId);
         //when creating message using service in chosen version
-        ResultActions result = mockMvc().perform(post("/message").accept(acceptVndVersion()).param("title", message.getTitle()));
+        ResultActions result = performAsync(post("/message").accept(acceptVndVersion()).param("title", message.getTitle()));
         //then message is created
         result.andExpect(status().is(HttpStatus.CREATED.value()));
         //and response is in proper VND and version
@@ -134,7 +131,7 @@ public class MessageServiceV1Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/message/" + message.getEntityId()));
         //and data is created using repository
         verify(mockRepository(), atLeastOnce()).create(any(Message.class));
-        verify(mockRepository(), atLeastOnce()).find(message.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID);
+        //and created message isn't read back
         verifyNoMoreInteractions(mockRepository());
     }
 
@@ -2,8 +2,10 @@ package com.mwronski.hateoas.services.v2;
 
 import com.mwronski.hateoas.RestApplicationTest;
 import com.mwronski.hateoas.model.Message;
-import com.mwronski.hateoas.model.ResourceEntity;
+import com.mwronski.hateoas.repositories.Criteria;
+import com.mwronski.hateoas.repositories.Projection;
 import com.mwronski.hateoas.repositories.Repository;
+import com.mwronski.hateoas.repositories.Slice;
 import com.mwronski.hateoas.services.ReadServiceTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +13,7 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
@@ -20,11 +23,13 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -60,9 +65,9 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
     public void shouldFindElementWithProperFieldsReturned() throws Exception {
         //given element can be found in repository
         Message message = sampleElement();
-        when(mockRepository().find(eq(sampleElement().getEntityId()), (String[]) anyVararg())).thenReturn(message);
+        when(mockRepository().find(eq(sampleElement().getEntityId()), any(Projection.class))).thenReturn(message);
         //when searching element with chosen ID using service in chosen version
-        ResultActions result = mockMvc().perform(get("/message/" + message.getEntityId()).accept(acceptVndVersion()).header("Accept", acceptVndVersion()));
+        ResultActions result = performAsync(get("/message/" + message.getEntityId()).accept(acceptVndVersion()).header("Accept", acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
@@ -76,7 +81,7 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].rel").value("self"));
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/message/" + message.getEntityId()));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).find(eq(sampleElement().getEntityId()), any(Projection.class));
         verifyNoMoreInteractions(mockRepository());
     }
 
@@ -86,10 +91,10 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         Message message = sampleElement();
         List<Message> elements = new ArrayList<Message>();
         elements.add(message);
-        when(mockRepository().get(eq(0), eq(10), (String[]) anyVararg())).thenReturn(elements);
+        when(mockRepository().get(eq(0), eq(10), any(Projection.class))).thenReturn(elements);
         when(mockRepository().size()).thenReturn(elements.size());
         //when getting first page of elements using service in chosen version
-        ResultActions result = mockMvc().perform(get("/messages/1").accept(acceptVndVersion()));
+        ResultActions result = performAsync(get("/messages/1").accept(acceptVndVersion()));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
@@ -106,7 +111,7 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].rel").value("self"));
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/1?includeFields="));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), any(Projection.class));
         verify(mockRepository(), atLeastOnce()).size();
         verifyNoMoreInteractions(mockRepository());
     }
@@ -119,10 +124,10 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         message.setSender(null);
         List<Message> elements = new ArrayList<Message>();
         elements.add(message);
-        when(mockRepository().get(eq(0), eq(10), (String[]) anyVararg())).thenReturn(elements);
+        when(mockRepository().get(eq(0), eq(10), any(Projection.class))).thenReturn(elements);
         when(mockRepository().size()).thenReturn(elements.size());
         //when getting first page of filtered elements using service in chosen version
-        ResultActions result = mockMvc().perform(get("/messages/1").accept(acceptVndVersion()).param("includeFields", new String[]{"content"}));
+        ResultActions result = performAsync(get("/messages/1").accept(acceptVndVersion()).param("includeFields", new String[]{"content"}));
         //then response is accepted
         result.andExpect(status().is(HttpStatus.OK.value()));
         //and response is in proper VND and version
@@ -139,21 +144,84 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].rel").value("self"));
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/1?includeFields="));
         //and data is taken from repository
-        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), (String[]) anyVararg());
+        verify(mockRepository(), atLeastOnce()).get(eq(0), eq(10), any(Projection.class));
         verify(mockRepository(), atLeastOnce()).size();
         verifyNoMoreInteractions(mockRepository());
     }
 
+    @Test
+    public void shouldQueryMessagesWithPagingLinks() throws Exception {
+        //given one element meeting criteria can be found in repository followed by more elements
+        Message message = sampleElement();
+        List<Message> elements = new ArrayList<Message>();
+        elements.add(message);
+        Criteria criteria = Criteria.criteria().withSender("localhost/v2").withTitlePrefix("Title");
+        when(mockRepository().query(eq(criteria), (String) isNull(), eq(10), any(Projection.class)))
+                .thenReturn(new Slice<Message>(elements, null, "a"));
+        //when querying elements by sender and beginning of title
+        ResultActions result = performAsync(get("/messages/query").accept(acceptVndVersion())
+                .param("sender", "localhost/v2")
+                .param("titlePrefix", "Title"));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and response is in proper VND and version
+        result.andExpect(content().contentType(acceptVndVersion()));
+        //and found elements are returned with self links
+        result.andExpect(jsonPath("$.resources[0].entityId").value("123-v2"));
+        result.andExpect(jsonPath("$.resources[0].links[0].href").value("http://localhost/message/" + message.getEntityId()));
+        //and links for paging keep criteria
+        result.andExpect(jsonPath("$.links[0].rel").value("self"));
+        result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/query?sender=localhost/v2&titlePrefix=Title"));
+        result.andExpect(jsonPath("$.links[1].rel").value("next"));
+        result.andExpect(jsonPath("$.links[1].href").value("http://localhost/messages/query?sender=localhost/v2&titlePrefix=Title&cursor=a"));
+        //and data is taken from repository
+        verify(mockRepository(), atLeastOnce()).query(eq(criteria), (String) isNull(), eq(10), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldRejectQueryWithoutCriteria() throws Exception {
+        //when querying elements without any criteria
+        ResultActions result = performAsync(get("/messages/query").accept(acceptVndVersion()));
+        //then request is rejected
+        result.andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+        //and repository isn't used
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldSearchMessagesWithPagingLinks() throws Exception {
+        //given one element containing searched word can be found in repository followed by more elements
+        Message message = sampleElement();
+        List<Message> elements = new ArrayList<Message>();
+        elements.add(message);
+        when(mockRepository().search(eq("disk"), (String) isNull(), eq(10), any(Projection.class)))
+                .thenReturn(new Slice<Message>(elements, null, "b"));
+        //when searching elements by word
+        ResultActions result = performAsync(get("/messages/search").accept(acceptVndVersion())
+                .param("q", "disk"));
+        //then response is accepted
+        result.andExpect(status().is(HttpStatus.OK.value()));
+        //and found elements are returned with self links
+        result.andExpect(jsonPath("$.resources[0].entityId").value("123-v2"));
+        result.andExpect(jsonPath("$.resources[0].links[0].href").value("http://localhost/message/" + message.getEntityId()));
+        //and links for paging keep searched text
+        result.andExpect(jsonPath("$.links[0].rel").value("self"));
+        result.andExpect(jsonPath("$.links[0].href").value("http://localhost/messages/search?q=disk"));
+        result.andExpect(jsonPath("$.links[1].rel").value("next"));
+        result.andExpect(jsonPath("$.links[1].href").value("http://localhost/messages/search?q=disk&cursor=b"));
+        //and data is taken from repository
+        verify(mockRepository(), atLeastOnce()).search(eq("disk"), (String) isNull(), eq(10), any(Projection.class));
+        verifyNoMoreInteractions(mockRepository());
+    }
+
     @Test
     public void shouldCreateMessage() throws Exception {
         //given message that will be created
         Message message = sampleElement();
         when(mockRepository().create(any(Message.class))).thenReturn(message);
-        Message msgId = new Message();
-        msgId.setEntityId(message.getEntityId());
-        when(mockRepository.find(message.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID)).thenReturn(msgId);
         //when creating message using service in chosen version
-        ResultActions result = mockMvc().perform(post("/message")
+        ResultActions result = performAsync(post("/message")
                 .accept(acceptVndVersion())
                 .param("title", message.getTitle())
                 .param("content", message.getContent()));
@@ -171,7 +239,30 @@ public class MessageServiceV2Test extends ReadServiceTest<Message> {
         result.andExpect(jsonPath("$.links[0].href").value("http://localhost/message/" + message.getEntityId()));
         //and data is created using repository
         verify(mockRepository(), atLeastOnce()).create(any(Message.class));
-        verify(mockRepository(), atLeastOnce()).find(message.getEntityId(), ResourceEntity.COLUMN_ENTITY_ID);
+        //and created message isn't read back
+        verifyNoMoreInteractions(mockRepository());
+    }
+
+    @Test
+    public void shouldCreateBatchOfMessages() throws Exception {
+        //given message that will be created
+        Message message = sampleElement();
+        when(mockRepository().createAll(anyListOf(Message.class))).thenReturn(Collections.singletonList(message));
+        //when creating batch with valid and invalid message
+        ResultActions result = performAsync(post("/messages/batch")
+                .accept(acceptVndVersion())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Title\",\"content\":\"Content\"},{\"content\":\"no title\"}]"));
+        //then message is created
+        result.andExpect(status().is(HttpStatus.CREATED.value()));
+        //and only ID of created message is returned with self link
+        result.andExpect(jsonPath("$.resources[0].entityId").value("123-v2"));
+        result.andExpect(jsonPath("$.resources[0].title").doesNotExist());
+        result.andExpect(jsonPath("$.resources[0].links[0].href").value("http://localhost/message/" + message.getEntityId()));
+        //and invalid message is reported with its position in the batch
+        result.andExpect(jsonPath("$.errors[0].index").value(1));
+        //and messages are created at once
+        verify(mockRepository(), times(1)).createAll(anyListOf(Message.class));
         verifyNoMoreInteractions(mockRepository());
     }
 